@@ -0,0 +1,79 @@
+package com.assignment.githubscore.benchmark;
+
+import com.assignment.githubscore.entity.RepositoryScore;
+import com.assignment.githubscore.service.PreviousScoreIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Looks up the previous scores of a 100-repository page in {@link PreviousScoreIndex} and, for comparison,
+ * in a boxed {@code HashMap<Long, Double>} holding the same scores.
+ * Run with {@code mvn -Pbenchmark -DskipTests test-compile exec:exec -Dbenchmark=PreviousScoreIndexBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--enable-preview", "-Xmx4g"})
+public class PreviousScoreIndexBenchmark {
+
+    private static final long SEED = 42L;
+    private static final int PAGE_SIZE = 100;
+
+    @Param({"1000000"})
+    public int trackedRepositories;
+
+    private PreviousScoreIndex previousScoreIndex;
+    private Map<Long, Double> boxedScores;
+    private long[] pageRepoIds;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(SEED);
+        previousScoreIndex = new PreviousScoreIndex(null, trackedRepositories, new SimpleMeterRegistry());
+        boxedScores = new HashMap<>();
+        List<RepositoryScore> repositoryScores = new ArrayList<>(trackedRepositories);
+        long[] repoIds = new long[trackedRepositories];
+        for (int i = 0; i < trackedRepositories; i++) {
+            repoIds[i] = random.nextLong(1, 1_000_000_000L);
+            RepositoryScore repositoryScore = new RepositoryScore();
+            repositoryScore.setRepoId(repoIds[i]);
+            repositoryScore.setPopularityScore(random.nextDouble());
+            repositoryScores.add(repositoryScore);
+            boxedScores.put(repoIds[i], repositoryScore.getPopularityScore());
+        }
+        previousScoreIndex.putAll(repositoryScores);
+        pageRepoIds = random.ints(PAGE_SIZE, 0, trackedRepositories).mapToLong(i -> repoIds[i]).toArray();
+    }
+
+    @Benchmark
+    public double[] previousScoreIndex() {
+        return previousScoreIndex.getAll(pageRepoIds);
+    }
+
+    @Benchmark
+    public void boxedHashMap(Blackhole blackhole) {
+        for (long repoId : pageRepoIds) {
+            blackhole.consume(boxedScores.getOrDefault(repoId, Double.NaN));
+        }
+    }
+}
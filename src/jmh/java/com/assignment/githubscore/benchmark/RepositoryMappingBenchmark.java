@@ -0,0 +1,62 @@
+package com.assignment.githubscore.benchmark;
+
+import com.assignment.githubscore.mapper.GitHubDtoMapper;
+import com.assignment.githubscore.service.GitHubRepositoryService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Covers the per-page work of {@link GitHubRepositoryService} around scoring: finding the star and fork maxima,
+ * deriving trends from previous scores, and mapping items to DTOs with {@link GitHubDtoMapper}.
+ * Run with {@code mvn -Pbenchmark -DskipTests test-compile exec:exec -Dbenchmark=RepositoryMappingBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class RepositoryMappingBenchmark {
+
+    private static final double POPULARITY_SCORE = 50.0;
+
+    private final GitHubDtoMapper gitHubDtoMapper = new GitHubDtoMapper();
+    // The benchmarked methods only work on their arguments, so no collaborators are needed.
+    private final GitHubRepositoryService gitHubRepositoryService =
+            new GitHubRepositoryService(null, gitHubDtoMapper, null, null, null, null, null, new SimpleMeterRegistry());
+
+    @Benchmark
+    public int findMaxStarsCount(SyntheticPage page) {
+        return gitHubRepositoryService.findMaxStarsCount(page.searchResponse);
+    }
+
+    @Benchmark
+    public int findMaxForksCount(SyntheticPage page) {
+        return gitHubRepositoryService.findMaxForksCount(page.searchResponse);
+    }
+
+    @Benchmark
+    public void determineTrend(SyntheticPage page, Blackhole blackhole) {
+        for (int i = 0; i < page.pageSize; i++) {
+            blackhole.consume(gitHubRepositoryService.determineTrend(POPULARITY_SCORE, page.previousScores[i]));
+        }
+    }
+
+    @Benchmark
+    public void toRepoItemDTO(SyntheticPage page, Blackhole blackhole) {
+        for (int i = 0; i < page.pageSize; i++) {
+            blackhole.consume(gitHubDtoMapper.toRepoItemDTO(page.items.get(i), POPULARITY_SCORE, "N/A"));
+        }
+    }
+}
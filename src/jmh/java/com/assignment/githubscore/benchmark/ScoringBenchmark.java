@@ -0,0 +1,96 @@
+package com.assignment.githubscore.benchmark;
+
+import com.assignment.githubscore.dto.ScoreBreakdownDTO;
+import com.assignment.githubscore.dto.UserPreferencesDTO;
+import com.assignment.githubscore.enums.WeightFactor;
+import com.assignment.githubscore.service.ScoringContext;
+import com.assignment.githubscore.service.ScoringKernel;
+import com.assignment.githubscore.service.ScoringService;
+import com.assignment.githubscore.service.UserPreferenceService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scores a whole synthetic page per operation through the per-item, per-item in a shared context, batch, breakdown
+ * and batch breakdown entry points of {@link ScoringService}
+ * and through the columnar {@link ScoringKernel}.
+ * User preferences are not stored, so every call falls back to the default weights without touching a database.
+ * Run with {@code mvn -Pbenchmark -DskipTests test-compile exec:exec -Dbenchmark=ScoringBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class ScoringBenchmark {
+
+    private static final long USER_ID = 1L;
+
+    private final ScoringService scoringService = new ScoringService(new UserPreferenceService(null, null) {
+        @Override
+        public Optional<UserPreferencesDTO> getUserPreferences(long userId) {
+            return Optional.empty();
+        }
+    }, Clock.systemDefaultZone());
+
+    @Benchmark
+    public void calculatePopularityScore(SyntheticPage page, Blackhole blackhole) {
+        for (int i = 0; i < page.pageSize; i++) {
+            blackhole.consume(scoringService.calculatePopularityScore(page.items.get(i).stargazersCount(),
+                    page.items.get(i).forksCount(), page.updatedDates[i], page.maxStars, page.maxForks,
+                    page.earliestCreatedDate, USER_ID));
+        }
+    }
+
+    @Benchmark
+    public void calculatePopularityScoreInContext(SyntheticPage page, Blackhole blackhole) {
+        ScoringContext context = scoringService.createContext(page.maxStars, page.maxForks, page.earliestCreatedDate, USER_ID);
+        for (int i = 0; i < page.pageSize; i++) {
+            blackhole.consume(scoringService.calculatePopularityScore(page.items.get(i).stargazersCount(),
+                    page.items.get(i).forksCount(), page.updatedDates[i], context));
+        }
+    }
+
+    @Benchmark
+    public double[] calculatePopularityScores(SyntheticPage page) {
+        return scoringService.calculatePopularityScores(page.items, page.maxStars, page.maxForks,
+                page.earliestCreatedDate, USER_ID);
+    }
+
+    @Benchmark
+    public double[] scoringKernel(SyntheticPage page) {
+        return ScoringKernel.score(page.stars, page.forks, page.updatedEpochDays, page.earliestCreatedDate.toEpochDay(),
+                LocalDate.now().toEpochDay(), WeightFactor.STARS.getWeight(),
+                WeightFactor.FORKS.getWeight(), WeightFactor.RECENCY.getWeight());
+    }
+
+    @Benchmark
+    public void calculatePopularityScoreWithBreakdown(SyntheticPage page, Blackhole blackhole) {
+        for (int i = 0; i < page.pageSize; i++) {
+            blackhole.consume(scoringService.calculatePopularityScoreWithBreakdown(page.items.get(i).stargazersCount(),
+                    page.items.get(i).forksCount(), page.maxStars, page.maxForks, page.earliestCreatedDate,
+                    page.updatedDates[i], USER_ID));
+        }
+    }
+
+    @Benchmark
+    public List<ScoreBreakdownDTO> calculatePopularityScoreBreakdowns(SyntheticPage page) {
+        return scoringService.calculatePopularityScoreBreakdowns(page.metrics, page.maxStars, page.maxForks,
+                page.earliestCreatedDate, USER_ID);
+    }
+}
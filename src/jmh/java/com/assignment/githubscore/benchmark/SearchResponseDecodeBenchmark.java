@@ -0,0 +1,83 @@
+package com.assignment.githubscore.benchmark;
+
+import com.assignment.githubscore.benchmark.legacy.LegacySearchResponse;
+import com.assignment.githubscore.mapper.SearchResponseDecoder;
+import com.assignment.githubscore.model.SearchResponse;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares decoding a 100-item GitHub search page into the full {@link LegacySearchResponse}, which is how pages
+ * were bound before, against binding the slim {@link SearchResponse} and against the streaming {@link SearchResponseDecoder}.
+ * Run with {@code mvn -Pbenchmark -DskipTests test-compile exec:exec -Dbenchmark=SearchResponseDecodeBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class SearchResponseDecodeBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+    private static final String SEARCH_RESPONSE_FIXTURE = "/github/search-repositories.json";
+
+    // Configured like the Spring Boot ObjectMapper that backed the WebClient codecs.
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    private final SearchResponseDecoder searchResponseDecoder = new SearchResponseDecoder();
+
+    private byte[] payload;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectNode fixture;
+        try (InputStream inputStream = getClass().getResourceAsStream(SEARCH_RESPONSE_FIXTURE)) {
+            fixture = (ObjectNode) objectMapper.readTree(inputStream);
+        }
+        ObjectNode template = (ObjectNode) fixture.withArray("items").get(0);
+        ArrayNode items = objectMapper.createArrayNode();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            ObjectNode item = template.deepCopy();
+            item.put("id", i);
+            item.put("name", STR."repo-\{i}");
+            item.put("stargazers_count", i * 10);
+            items.add(item);
+        }
+        fixture.put("total_count", PAGE_SIZE);
+        fixture.set("items", items);
+        payload = objectMapper.writeValueAsBytes(fixture);
+    }
+
+    @Benchmark
+    public LegacySearchResponse legacyDataBinding() throws IOException {
+        return objectMapper.readValue(payload, LegacySearchResponse.class);
+    }
+
+    @Benchmark
+    public SearchResponse slimDataBinding() throws IOException {
+        return objectMapper.readValue(payload, SearchResponse.class);
+    }
+
+    @Benchmark
+    public SearchResponse streamingDecoder() throws IOException {
+        return searchResponseDecoder.decode(new ByteArrayInputStream(payload));
+    }
+}
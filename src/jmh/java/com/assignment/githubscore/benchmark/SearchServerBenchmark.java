@@ -0,0 +1,152 @@
+package com.assignment.githubscore.benchmark;
+
+import com.assignment.githubscore.Application;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Measures how many concurrent searches the running application serves per second with
+ * {@code spring.threads.virtual.enabled} off, on the default Tomcat pool of 200 platform threads, and on.
+ * GitHub is replaced by a local server answering every search after a fixed latency, and searches are not cached,
+ * so each one blocks on GitHub like a cache miss does.
+ * The application starts its database from {@code compose.yml} like a local run does; with
+ * {@code SPRING_DOCKER_COMPOSE_ENABLED=false} it connects to the one configured by the {@code DB_*} environment variables instead.
+ * Run with {@code mvn -Pbenchmark -DskipTests test-compile exec:exec -Dbenchmark=SearchServerBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class SearchServerBenchmark {
+
+    private static final int CONCURRENT_SEARCHES = 1_000;
+    private static final int PAGE_SIZE = 30;
+    // Few enough for their preferences to stay cached, so searches do not queue for a connection to look them up.
+    private static final int USERS = 10;
+    private static final Duration GITHUB_LATENCY = Duration.ofMillis(200);
+    private static final LocalDate FIRST_CREATED_DATE = LocalDate.of(2024, 1, 1);
+
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    private ExecutorService gitHubExecutor;
+    private HttpServer gitHubServer;
+    private ConfigurableApplicationContext application;
+    private HttpClient httpClient;
+    private String searchUrl;
+    private long searches;
+
+    @Setup
+    public void setUp() throws IOException {
+        byte[] searchPage = searchPageJson().getBytes(StandardCharsets.UTF_8);
+        // The JDK server otherwise closes idle connections beyond 200, which the WebClient connection pool still reuses.
+        System.setProperty("sun.net.httpserver.maxIdleConnections", String.valueOf(CONCURRENT_SEARCHES));
+        gitHubExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        gitHubServer = HttpServer.create(new InetSocketAddress("localhost", 0), CONCURRENT_SEARCHES);
+        gitHubServer.createContext("/", exchange -> {
+            try (exchange; OutputStream body = exchange.getResponseBody()) {
+                Thread.sleep(GITHUB_LATENCY);
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, searchPage.length);
+                body.write(searchPage);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        gitHubServer.setExecutor(gitHubExecutor);
+        gitHubServer.start();
+
+        // Replaces the dev profile, whose datasource points at the host name of the database inside compose.yml.
+        application = new SpringApplicationBuilder(Application.class).run(
+                "--spring.profiles.active=benchmark",
+                STR."--spring.threads.virtual.enabled=\{virtualThreads}",
+                "--server.port=0",
+                STR."--github.api.url=http://localhost:\{gitHubServer.getAddress().getPort()}",
+                STR."--github.search.page-size=\{PAGE_SIZE}",
+                "--github.api.rate-limit.requests-per-minute=100000000",
+                "--github.search.refresh.top-queries=0",
+                "--management.tracing.enabled=false");
+        int port = ((WebServerApplicationContext) application).getWebServer().getPort();
+        searchUrl = STR."http://localhost:\{port}/api/github/search?language=java&earliestCreatedDate=";
+        httpClient = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        httpClient.close();
+        application.close();
+        gitHubServer.stop(0);
+        gitHubExecutor.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CONCURRENT_SEARCHES)
+    public int concurrentSearches() {
+        List<CompletableFuture<HttpResponse<Void>>> responses = new ArrayList<>(CONCURRENT_SEARCHES);
+        for (int i = 0; i < CONCURRENT_SEARCHES; i++) {
+            // A new creation date per search, so that every search misses the cache.
+            LocalDate earliestCreatedDate = FIRST_CREATED_DATE.minusDays(searches++);
+            HttpRequest request = HttpRequest.newBuilder(URI.create(searchUrl + earliestCreatedDate))
+                    .header("UserId", String.valueOf(i % USERS))
+                    .build();
+            responses.add(httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding()));
+        }
+        int served = 0;
+        for (CompletableFuture<HttpResponse<Void>> response : responses) {
+            int status = response.join().statusCode();
+            if (status != 200) {
+                throw new IllegalStateException(STR."Search failed with status \{status}");
+            }
+            served++;
+        }
+        return served;
+    }
+
+    private static String searchPageJson() {
+        String items = IntStream.rangeClosed(1, PAGE_SIZE)
+                .mapToObj(id -> STR."""
+                        {"id": \{id}, "name": "repo-\{id}", "full_name": "owner/repo-\{id}", "stargazers_count": \{id * 10}, \
+                        "forks_count": \{id}, "updated_at": "2026-01-01T00:00:00Z"}""")
+                .collect(Collectors.joining(", "));
+        return STR."""
+                {"total_count": \{PAGE_SIZE}, "incomplete_results": false, "items": [\{items}]}""";
+    }
+}
@@ -0,0 +1,67 @@
+package com.assignment.githubscore.benchmark;
+
+import com.assignment.githubscore.dto.RepositoryMetricsDTO;
+import com.assignment.githubscore.model.RepoItem;
+import com.assignment.githubscore.model.SearchResponse;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+/**
+ * A synthetic search page shared by the hot-path benchmarks, generated from a fixed seed so that runs are comparable.
+ */
+@State(Scope.Benchmark)
+public class SyntheticPage {
+
+    private static final long SEED = 42L;
+    private static final int MAX_AGE_DAYS = 365;
+
+    @Param({"30", "100", "1000"})
+    public int pageSize;
+
+    public SearchResponse searchResponse;
+    public List<RepoItem> items;
+    public LocalDate[] updatedDates;
+    public List<RepositoryMetricsDTO> metrics;
+    public int[] stars;
+    public int[] forks;
+    public long[] updatedEpochDays;
+    public double[] previousScores;
+    public LocalDate earliestCreatedDate;
+    public int maxStars;
+    public int maxForks;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(SEED);
+        LocalDateTime now = LocalDateTime.now();
+        earliestCreatedDate = now.toLocalDate().minusDays(MAX_AGE_DAYS);
+        items = IntStream.range(0, pageSize)
+                .mapToObj(id -> new RepoItem(id, STR."node-\{id}", STR."repo-\{id}", STR."owner/repo-\{id}", false,
+                        STR."https://github.com/owner/repo-\{id}", false, earliestCreatedDate.toString(),
+                        now.minusDays(random.nextInt(MAX_AGE_DAYS)).toString(),
+                        random.nextInt(100_000), "Java", random.nextInt(10_000), false, false))
+                .toList();
+        searchResponse = new SearchResponse(pageSize, false, items);
+        updatedDates = items.stream()
+                .map(item -> LocalDateTime.parse(item.updatedAt()).toLocalDate())
+                .toArray(LocalDate[]::new);
+        metrics = IntStream.range(0, pageSize)
+                .mapToObj(i -> new RepositoryMetricsDTO(items.get(i).stargazersCount(), items.get(i).forksCount(), updatedDates[i]))
+                .toList();
+        stars = items.stream().mapToInt(RepoItem::stargazersCount).toArray();
+        forks = items.stream().mapToInt(RepoItem::forksCount).toArray();
+        updatedEpochDays = Arrays.stream(updatedDates).mapToLong(LocalDate::toEpochDay).toArray();
+        previousScores = random.doubles(pageSize, 0, 100).toArray();
+        maxStars = items.stream().mapToInt(RepoItem::stargazersCount).max().orElse(0);
+        maxForks = items.stream().mapToInt(RepoItem::forksCount).max().orElse(0);
+    }
+}
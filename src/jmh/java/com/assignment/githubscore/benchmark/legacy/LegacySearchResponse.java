@@ -0,0 +1,11 @@
+package com.assignment.githubscore.benchmark.legacy;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+public record LegacySearchResponse(
+        @JsonProperty("total_count") int totalCount,
+        @JsonProperty("incomplete_results") boolean incompleteResults,
+        @JsonProperty("items") List<LegacyRepoItem> items) {
+}
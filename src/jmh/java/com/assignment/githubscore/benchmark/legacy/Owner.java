@@ -1,4 +1,4 @@
-package com.assignment.githubscore.model;
+package com.assignment.githubscore.benchmark.legacy;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 
@@ -0,0 +1,20 @@
+package com.assignment.githubscore.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+@Configuration
+public class ClockConfig {
+
+    /**
+     * The clock scores are dated with. Injected rather than read statically so that scoring is deterministic in tests.
+     *
+     * @return The system clock in the default time zone.
+     */
+    @Bean
+    public Clock clock() {
+        return Clock.systemDefaultZone();
+    }
+}
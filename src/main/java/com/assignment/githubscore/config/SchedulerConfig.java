@@ -0,0 +1,38 @@
+package com.assignment.githubscore.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.ThreadFactory;
+
+@Configuration
+public class SchedulerConfig {
+
+    private static final String PERSISTENCE_THREAD_NAME = "score-persistence";
+    private static final int IDLE_WORKER_TTL_SECONDS = 60;
+
+    /**
+     * Bounded scheduler used by the reactive search pipeline to run the blocking JPA work
+     * (preference lookups, score history reads and writes) off the Netty event loop.
+     * The thread cap should not exceed the size of the database connection pool.
+     * When virtual threads are enabled the workers are virtual threads, so blocking on JDBC does not hold a carrier thread.
+     *
+     * @param threadCap             The maximum number of threads running blocking work concurrently.
+     * @param queuedTaskCap         The maximum number of tasks waiting for a thread before new tasks are rejected.
+     * @param virtualThreadsEnabled Whether the application runs in virtual-thread mode.
+     * @return The scheduler for blocking persistence work.
+     */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler persistenceScheduler(@Value("${github.search.persistence.thread-cap:10}") int threadCap,
+                                          @Value("${github.search.persistence.queued-task-cap:1000}") int queuedTaskCap,
+                                          @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreadsEnabled) {
+        if (virtualThreadsEnabled) {
+            ThreadFactory threadFactory = Thread.ofVirtual().name(PERSISTENCE_THREAD_NAME + "-", 0).factory();
+            return Schedulers.newBoundedElastic(threadCap, queuedTaskCap, threadFactory, IDLE_WORKER_TTL_SECONDS);
+        }
+        return Schedulers.newBoundedElastic(threadCap, queuedTaskCap, PERSISTENCE_THREAD_NAME);
+    }
+}
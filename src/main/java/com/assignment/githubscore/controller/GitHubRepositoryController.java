@@ -1,8 +1,15 @@
 package com.assignment.githubscore.controller;
 
+import com.assignment.githubscore.dto.ProfileRankingDTO;
 import com.assignment.githubscore.dto.RepoItemDTO;
+import com.assignment.githubscore.dto.RepoItemPageDTO;
+import com.assignment.githubscore.dto.ScoreBreakdownBatchRequestDTO;
 import com.assignment.githubscore.dto.ScoreBreakdownDTO;
+import com.assignment.githubscore.dto.ScoreHistoryPointDTO;
+import com.assignment.githubscore.dto.WhatIfScoringRequestDTO;
 import com.assignment.githubscore.service.GitHubRepositoryService;
+import com.assignment.githubscore.service.PopularQueryTracker;
+import com.assignment.githubscore.service.ScoreHistoryService;
 import com.assignment.githubscore.service.ScoringService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -10,10 +17,14 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -21,23 +32,79 @@ import java.util.List;
 @Tag(name = "GitHub Repositories", description = "APIs for managing GitHub repositories")
 public class GitHubRepositoryController {
 
+    static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+    static final int DEFAULT_PAGE_SIZE = 30;
+
     private final GitHubRepositoryService gitHubRepositoryService;
     private final ScoringService scoringService;
+    private final ScoreHistoryService scoreHistoryService;
+    private final PopularQueryTracker popularQueryTracker;
 
-    public GitHubRepositoryController(GitHubRepositoryService gitHubRepositoryService, ScoringService scoringService) {
+    public GitHubRepositoryController(GitHubRepositoryService gitHubRepositoryService, ScoringService scoringService,
+                                      ScoreHistoryService scoreHistoryService, PopularQueryTracker popularQueryTracker) {
         this.gitHubRepositoryService = gitHubRepositoryService;
         this.scoringService = scoringService;
+        this.scoreHistoryService = scoreHistoryService;
+        this.popularQueryTracker = popularQueryTracker;
     }
 
-    @Operation(summary = "Search GitHub Repository", description = "Search GitHub repositories based on language and earliest created date.")
-
+    @Operation(summary = "Search GitHub Repository", description = "Search GitHub repositories based on language and earliest created date. Results are paged when page or size is given; the total number of matching repositories is returned in the X-Total-Count header.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Repositories retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid page, size or sort order")
+    })
     @GetMapping("/search")
     public ResponseEntity<List<RepoItemDTO>> searchGitHubRepository(
+            @Parameter(description = "Earliest creation date of repositories (format: yyyy-MM-dd)", required = true) @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate earliestCreatedDate,
+            @Parameter(description = "Programming language to filter repositories") @RequestParam(required = false) String language,
+            @Parameter(description = "The ID of the user making the request") @RequestHeader("UserId") long userId,
+            @Parameter(description = "Zero-based page number, 0 by default; all repositories are returned when neither page nor size is given") @RequestParam(required = false) Integer page,
+            @Parameter(description = "Number of repositories per page, at most 100, 30 by default; all repositories are returned when neither page nor size is given") @RequestParam(required = false) Integer size,
+            @Parameter(description = "Sort order as field[,asc|desc], descending by default; one of popularityScore, stargazersCount, forksCount, updatedAt. GitHub's order is kept when omitted") @RequestParam(required = false) String sort,
+            @Parameter(description = "Minimum popularity score of returned repositories") @RequestParam(required = false) Double minScore) {
+        popularQueryTracker.record(language, earliestCreatedDate, userId);
+        RepoItemPageDTO repositoryPage = page == null && size == null
+                ? gitHubRepositoryService.getAllRepositories(language, earliestCreatedDate, userId, sort, minScore)
+                : gitHubRepositoryService.getRepositoryPage(language, earliestCreatedDate, userId,
+                        page == null ? 0 : page, size == null ? DEFAULT_PAGE_SIZE : size, sort, minScore);
+        return ResponseEntity.ok()
+                .header(TOTAL_COUNT_HEADER, String.valueOf(repositoryPage.totalCount()))
+                .body(repositoryPage.items());
+    }
+
+    @Operation(summary = "Search GitHub Repository (reactive)", description = "Search GitHub repositories based on language and earliest created date without holding a request thread during the GitHub call.")
+    @GetMapping("/search/reactive")
+    public Mono<List<RepoItemDTO>> searchGitHubRepositoryReactive(
+            @Parameter(description = "Earliest creation date of repositories (format: yyyy-MM-dd)", required = true) @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate earliestCreatedDate,
+            @Parameter(description = "Programming language to filter repositories") @RequestParam(required = false) String language,
+            @Parameter(description = "The ID of the user making the request") @RequestHeader("UserId") long userId) {
+        popularQueryTracker.record(language, earliestCreatedDate, userId);
+        return gitHubRepositoryService.getFilteredRepositoriesReactive(language, earliestCreatedDate, userId);
+    }
+
+    @Operation(summary = "Stream GitHub Repository Search", description = "Search GitHub repositories based on language and earliest created date, writing each repository as newline-delimited JSON or as a server-sent event as soon as it is scored.")
+    @GetMapping(value = "/search/stream", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<RepoItemDTO> streamGitHubRepositorySearch(
             @Parameter(description = "Earliest creation date of repositories (format: yyyy-MM-dd)", required = true) @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate earliestCreatedDate,
             @Parameter(description = "Programming language to filter repositories") @RequestParam(required = false) String language,
             @Parameter(description = "The ID of the user making the request") @RequestHeader("UserId") long userId) {
-        List<RepoItemDTO> filteredRepositories = gitHubRepositoryService.getFilteredRepositories(language, earliestCreatedDate, userId);
-        return ResponseEntity.ok(filteredRepositories);
+        popularQueryTracker.record(language, earliestCreatedDate, userId);
+        return gitHubRepositoryService.streamFilteredRepositories(language, earliestCreatedDate, userId);
+    }
+
+    @Operation(summary = "Rank GitHub Repository Search for Profiles", description = "Rank the repositories of one search under the stored preferences of several users and under ad-hoc weight profiles. The search is fetched once and nothing is recorded.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Rankings retrieved successfully, users first, in the order of the request"),
+            @ApiResponse(responseCode = "400", description = "No profiles, more than 100 profiles, a negative or non-finite weight, or an invalid limit")
+    })
+    @PostMapping("/search/what-if")
+    public ResponseEntity<List<ProfileRankingDTO>> rankGitHubRepositorySearchForProfiles(
+            @Parameter(description = "Earliest creation date of repositories (format: yyyy-MM-dd)", required = true) @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate earliestCreatedDate,
+            @Parameter(description = "Programming language to filter repositories") @RequestParam(required = false) String language,
+            @Parameter(description = "Number of repositories per ranking, at most 100") @RequestParam(defaultValue = "30") int limit,
+            @Parameter(description = "The user IDs and ad-hoc weight profiles to rank with") @RequestBody WhatIfScoringRequestDTO request) {
+        List<ProfileRankingDTO> rankings = gitHubRepositoryService.rankForProfiles(language, earliestCreatedDate, request, limit);
+        return ResponseEntity.ok(rankings);
     }
 
     @Operation(summary = "Get Score Breakdown", description = "Get the breakdown of popularity score for a repository based on stars, forks, and last updated date.")
@@ -55,4 +122,32 @@ public class GitHubRepositoryController {
                 stars, forks, maxStars, maxForks, earliestCreatedDate, updatedAt, userId);
         return ResponseEntity.ok(scoreBreakdown);
     }
+
+    @Operation(summary = "Get Score Breakdowns", description = "Get the breakdowns of popularity scores for up to 1000 repositories, normalized against the same maximum stars, forks and earliest creation date.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Score breakdowns retrieved successfully, in the order of the repositories"),
+            @ApiResponse(responseCode = "400", description = "Too many repositories or a missing date")
+    })
+    @PostMapping("/score/breakdown/batch")
+    public ResponseEntity<List<ScoreBreakdownDTO>> getScoreBreakdowns(
+            @Parameter(description = "The shared normalization bounds and the repositories to score") @RequestBody ScoreBreakdownBatchRequestDTO request,
+            @Parameter(description = "The ID of the user making the request") @RequestHeader("UserId") long userId) {
+        List<ScoreBreakdownDTO> scoreBreakdowns = scoringService.calculatePopularityScoreBreakdowns(request.repositories(),
+                request.maxStars(), request.maxForks(), request.earliestCreatedDate(), userId);
+        return ResponseEntity.ok(scoreBreakdowns);
+    }
+
+    @Operation(summary = "Get Score History", description = "Get the popularity score series of a repository within a time window, newest first. Recent scores are returned individually, older ones as daily aggregates.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Score history retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid time window or limit")
+    })
+    @GetMapping("/repositories/{repoId}/score-history")
+    public ResponseEntity<List<ScoreHistoryPointDTO>> getScoreHistory(
+            @Parameter(description = "The ID of the repository") @PathVariable long repoId,
+            @Parameter(description = "Start of the time window, inclusive (format: yyyy-MM-dd'T'HH:mm:ss)", required = true) @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "End of the time window, exclusive (format: yyyy-MM-dd'T'HH:mm:ss)", required = true) @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @Parameter(description = "The maximum number of points to return") @RequestParam(defaultValue = "1000") int limit) {
+        return ResponseEntity.ok(scoreHistoryService.getScoreHistory(repoId, from, to, limit));
+    }
 }
@@ -0,0 +1,12 @@
+package com.assignment.githubscore.dto;
+
+import java.util.List;
+
+/**
+ * The best repositories of a search under one weight profile, highest score first.
+ */
+public record ProfileRankingDTO(
+        WeightProfileDTO profile,
+        List<RankedRepositoryDTO> repositories
+) {
+}
@@ -0,0 +1,8 @@
+package com.assignment.githubscore.dto;
+
+public record RankedRepositoryDTO(
+        long id,
+        String fullName,
+        double popularityScore
+) {
+}
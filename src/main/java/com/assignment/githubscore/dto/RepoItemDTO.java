@@ -1,7 +1,7 @@
 package com.assignment.githubscore.dto;
 
 public record RepoItemDTO(
-        int id,
+        long id,
         double popularityScore,
         String trend,
         String nodeId,
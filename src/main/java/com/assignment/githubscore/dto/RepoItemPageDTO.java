@@ -0,0 +1,12 @@
+package com.assignment.githubscore.dto;
+
+import java.util.List;
+
+/**
+ * One page of scored repositories, with the number of repositories matching the search across all pages.
+ */
+public record RepoItemPageDTO(
+        List<RepoItemDTO> items,
+        int totalCount
+) {
+}
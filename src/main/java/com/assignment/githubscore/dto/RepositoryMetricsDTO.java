@@ -0,0 +1,13 @@
+package com.assignment.githubscore.dto;
+
+import java.time.LocalDate;
+
+/**
+ * The figures of a repository its popularity score is calculated from.
+ */
+public record RepositoryMetricsDTO(
+        int stars,
+        int forks,
+        LocalDate updatedAt
+) {
+}
@@ -0,0 +1,15 @@
+package com.assignment.githubscore.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * A request for the score breakdowns of several repositories normalized against the same bounds.
+ */
+public record ScoreBreakdownBatchRequestDTO(
+        int maxStars,
+        int maxForks,
+        LocalDate earliestCreatedDate,
+        List<RepositoryMetricsDTO> repositories
+) {
+}
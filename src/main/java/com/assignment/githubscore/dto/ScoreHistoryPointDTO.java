@@ -0,0 +1,16 @@
+package com.assignment.githubscore.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * A point of the popularity score series of a repository. Recent points are single recorded scores;
+ * older points are daily aggregates, recorded at the start of the day, averaging {@code sampleCount} scores.
+ */
+public record ScoreHistoryPointDTO(
+        LocalDateTime recordedAt,
+        double popularityScore,
+        double minScore,
+        double maxScore,
+        int sampleCount
+) {
+}
@@ -0,0 +1,12 @@
+package com.assignment.githubscore.dto;
+
+/**
+ * A named set of scoring weights, either the preferences of a user or an ad-hoc combination.
+ */
+public record WeightProfileDTO(
+        String name,
+        double starsWeight,
+        double forksWeight,
+        double recencyWeight
+) {
+}
@@ -0,0 +1,12 @@
+package com.assignment.githubscore.dto;
+
+import java.util.List;
+
+/**
+ * The profiles a search is ranked for: the stored preferences of users, ad-hoc weight profiles, or both.
+ */
+public record WhatIfScoringRequestDTO(
+        List<Long> userIds,
+        List<WeightProfileDTO> weightProfiles
+) {
+}
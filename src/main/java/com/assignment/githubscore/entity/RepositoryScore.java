@@ -5,13 +5,15 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "repository_scores")
+@Table(name = "repository_scores", indexes = @Index(name = "ux_repository_scores_repo_id", columnList = "repo_id", unique = true))
 public class RepositoryScore {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "repository_scores_seq")
+    @SequenceGenerator(name = "repository_scores_seq", sequenceName = "repository_scores_seq", allocationSize = 50)
     private Long id;
 
-    private int repoId;
+    @Column(name = "repo_id", nullable = false)
+    private long repoId;
     private String repoName;
     private double popularityScore;
     private LocalDateTime recordedAt;
@@ -24,11 +26,11 @@ public class RepositoryScore {
         this.id = id;
     }
 
-    public int getRepoId() {
+    public long getRepoId() {
         return repoId;
     }
 
-    public void setRepoId(int repoId) {
+    public void setRepoId(long repoId) {
         this.repoId = repoId;
     }
 
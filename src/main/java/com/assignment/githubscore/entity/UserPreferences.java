@@ -1,17 +1,22 @@
 package com.assignment.githubscore.entity;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
 
 @Entity
+@Table(name = "user_preferences", indexes = @Index(name = "ux_user_preferences_user_id", columnList = "user_id", unique = true))
 public class UserPreferences {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Column(name = "user_id", nullable = false)
     private Long userId;
     private double starsWeight;
     private double forksWeight;
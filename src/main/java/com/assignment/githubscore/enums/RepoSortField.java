@@ -0,0 +1,42 @@
+package com.assignment.githubscore.enums;
+
+import com.assignment.githubscore.dto.RepoItemDTO;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Optional;
+
+/**
+ * Fields the repositories of a search can be sorted by, with the name used in the {@code sort} request parameter.
+ */
+public enum RepoSortField {
+    POPULARITY_SCORE("popularityScore", Comparator.comparingDouble(RepoItemDTO::popularityScore)),
+    STARS("stargazersCount", Comparator.comparingInt(RepoItemDTO::stargazersCount)),
+    FORKS("forksCount", Comparator.comparingInt(RepoItemDTO::forksCount)),
+    UPDATED_AT("updatedAt", Comparator.comparing(RepoItemDTO::updatedAt, Comparator.nullsFirst(Comparator.naturalOrder())));
+
+    private final String parameterName;
+    private final Comparator<RepoItemDTO> comparator;
+
+    RepoSortField(String parameterName, Comparator<RepoItemDTO> comparator) {
+        this.parameterName = parameterName;
+        this.comparator = comparator;
+    }
+
+    public String getParameterName() {
+        return parameterName;
+    }
+
+    /**
+     * Returns the ascending order of repositories by this field.
+     */
+    public Comparator<RepoItemDTO> getComparator() {
+        return comparator;
+    }
+
+    public static Optional<RepoSortField> fromParameterName(String parameterName) {
+        return Arrays.stream(values())
+                .filter(field -> field.parameterName.equalsIgnoreCase(parameterName))
+                .findFirst();
+    }
+}
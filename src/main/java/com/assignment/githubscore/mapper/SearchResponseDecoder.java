@@ -0,0 +1,118 @@
+package com.assignment.githubscore.mapper;
+
+import com.assignment.githubscore.model.RepoItem;
+import com.assignment.githubscore.model.SearchResponse;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.StreamReadFeature;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Decodes GitHub search responses with the streaming Jackson parser.
+ * Only the fields of {@link RepoItem} are materialised; every other value, including the nested
+ * owner, license and permission objects, is skipped token by token without building a tree or binding it.
+ */
+@Component
+public class SearchResponseDecoder {
+
+    private static final int DEFAULT_PAGE_SIZE = 100;
+
+    private final JsonFactory jsonFactory = JsonFactory.builder()
+            .disable(StreamReadFeature.AUTO_CLOSE_SOURCE)
+            .build();
+
+    /**
+     * Decodes a search response.
+     *
+     * @param inputStream The JSON body of the search response. It is not closed by this method.
+     * @return The decoded search response.
+     * @throws IOException If the body cannot be read or is not a JSON object.
+     */
+    public SearchResponse decode(InputStream inputStream) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(inputStream)) {
+            expect(parser, parser.nextToken(), JsonToken.START_OBJECT);
+            int totalCount = 0;
+            boolean incompleteResults = false;
+            List<RepoItem> items = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.currentName();
+                JsonToken value = parser.nextToken();
+                switch (fieldName) {
+                    case "total_count" -> totalCount = parser.getValueAsInt();
+                    case "incomplete_results" -> incompleteResults = parser.getValueAsBoolean();
+                    case "items" -> items = value == JsonToken.START_ARRAY ? readItems(parser) : skip(parser);
+                    default -> parser.skipChildren();
+                }
+            }
+            return new SearchResponse(totalCount, incompleteResults, items);
+        }
+    }
+
+    private List<RepoItem> readItems(JsonParser parser) throws IOException {
+        List<RepoItem> items = new ArrayList<>(DEFAULT_PAGE_SIZE);
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            expect(parser, token, JsonToken.START_OBJECT);
+            items.add(readItem(parser));
+        }
+        return items;
+    }
+
+    private RepoItem readItem(JsonParser parser) throws IOException {
+        long id = 0;
+        String nodeId = null;
+        String name = null;
+        String fullName = null;
+        boolean isPrivate = false;
+        String htmlUrl = null;
+        boolean isFork = false;
+        String createdAt = null;
+        String updatedAt = null;
+        int stargazersCount = 0;
+        String language = null;
+        int forksCount = 0;
+        boolean archived = false;
+        boolean disabled = false;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.currentName();
+            parser.nextToken();
+            switch (fieldName) {
+                case "id" -> id = parser.getValueAsLong();
+                case "node_id" -> nodeId = parser.getValueAsString();
+                case "name" -> name = parser.getValueAsString();
+                case "full_name" -> fullName = parser.getValueAsString();
+                case "private" -> isPrivate = parser.getValueAsBoolean();
+                case "html_url" -> htmlUrl = parser.getValueAsString();
+                case "fork" -> isFork = parser.getValueAsBoolean();
+                case "created_at" -> createdAt = parser.getValueAsString();
+                case "updated_at" -> updatedAt = parser.getValueAsString();
+                case "stargazers_count" -> stargazersCount = parser.getValueAsInt();
+                case "language" -> language = parser.getValueAsString();
+                case "forks_count" -> forksCount = parser.getValueAsInt();
+                case "archived" -> archived = parser.getValueAsBoolean();
+                case "disabled" -> disabled = parser.getValueAsBoolean();
+                default -> parser.skipChildren();
+            }
+        }
+        return new RepoItem(id, nodeId, name, fullName, isPrivate, htmlUrl, isFork, createdAt, updatedAt,
+                stargazersCount, language, forksCount, archived, disabled);
+    }
+
+    private static <T> T skip(JsonParser parser) throws IOException {
+        parser.skipChildren();
+        return null;
+    }
+
+    private static void expect(JsonParser parser, JsonToken actual, JsonToken expected) throws JsonParseException {
+        if (actual != expected) {
+            throw new JsonParseException(parser, STR."Expected \{expected} but found \{actual}");
+        }
+    }
+}
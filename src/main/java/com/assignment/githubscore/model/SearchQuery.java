@@ -0,0 +1,25 @@
+package com.assignment.githubscore.model;
+
+import java.time.LocalDate;
+import java.util.Locale;
+
+/**
+ * Normalized GitHub repository search query, used as the key of cached search results.
+ */
+public record SearchQuery(
+        String language,
+        LocalDate earliestCreatedDate) {
+
+    /**
+     * Creates a normalized query. GitHub matches languages case-insensitively,
+     * so the language is trimmed and lower-cased and a blank language is treated as no language.
+     *
+     * @param language            The programming language to filter repositories.
+     * @param earliestCreatedDate The earliest date when repositories were created.
+     * @return The normalized query.
+     */
+    public static SearchQuery of(String language, LocalDate earliestCreatedDate) {
+        String normalizedLanguage = language == null || language.isBlank() ? null : language.trim().toLowerCase(Locale.ROOT);
+        return new SearchQuery(normalizedLanguage, earliestCreatedDate);
+    }
+}
@@ -1,9 +1,11 @@
 package com.assignment.githubscore.model;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+
 import java.util.List;
 
 public record SearchResponse(
-        int totalCount,
-        boolean incompleteResults,
-        List<RepoItem> items) {
+        @JsonProperty("total_count") int totalCount,
+        @JsonProperty("incomplete_results") boolean incompleteResults,
+        @JsonProperty("items") List<RepoItem> items) {
 }
@@ -4,10 +4,14 @@ import com.assignment.githubscore.entity.RepositoryScore;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface RepositoryScoreRepository extends JpaRepository<RepositoryScore, Long> {
+public interface RepositoryScoreRepository extends JpaRepository<RepositoryScore, Long>, RepositoryScoreRepositoryCustom {
 
     Optional<RepositoryScore> findByRepoId(long repoId);
+
+    List<RepositoryScore> findByRepoIdIn(Collection<Long> repoIds);
 }
\ No newline at end of file
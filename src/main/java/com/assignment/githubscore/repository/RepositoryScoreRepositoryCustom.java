@@ -0,0 +1,30 @@
+package com.assignment.githubscore.repository;
+
+import com.assignment.githubscore.entity.RepositoryScore;
+
+import java.util.List;
+
+public interface RepositoryScoreRepositoryCustom {
+
+    /**
+     * Inserts or updates the latest score of each repository with a batched native upsert on {@code repo_id}.
+     * An existing row is only replaced by a score recorded at the same time or later, so concurrent searches
+     * for the same repositories neither create duplicates nor overwrite a newer score with an older one.
+     *
+     * @param repositoryScores The scores to write; their IDs are ignored.
+     */
+    void upsertAll(List<RepositoryScore> repositoryScores);
+
+    /**
+     * Streams the latest score of every repository without loading entities.
+     *
+     * @param consumer Receives the repository ID and popularity score of each stored score.
+     */
+    void forEachScore(ScoreConsumer consumer);
+
+    @FunctionalInterface
+    interface ScoreConsumer {
+
+        void accept(long repoId, double popularityScore);
+    }
+}
@@ -0,0 +1,99 @@
+package com.assignment.githubscore.repository;
+
+import com.assignment.githubscore.entity.RepositoryScore;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Native implementation of {@link RepositoryScoreRepositoryCustom}. Updating stored repositories in place and inserting
+ * the rest through {@code INSERT ... ON CONFLICT} replaces the select-then-update merge Hibernate performs for entities
+ * with an assigned ID.
+ */
+class RepositoryScoreRepositoryImpl implements RepositoryScoreRepositoryCustom {
+
+    private static final String UPDATE_SCORE = """
+            UPDATE repository_scores
+            SET repo_name = ?, popularity_score = ?, recorded_at = ?
+            WHERE repo_id = ?
+              AND (recorded_at IS NULL OR recorded_at <= ?)""";
+
+    // Selecting the new row only when the repository is not stored yet keeps nextval from being called for rows
+    // that are already there; the conflict clause covers a concurrent batch inserting the same repository first.
+    private static final String INSERT_SCORE = """
+            INSERT INTO repository_scores (id, repo_id, repo_name, popularity_score, recorded_at)
+            SELECT nextval('repository_scores_seq'), ?, ?, ?, ?
+            WHERE NOT EXISTS (SELECT 1 FROM repository_scores WHERE repo_id = ?)
+            ON CONFLICT (repo_id) DO UPDATE SET
+                repo_name = EXCLUDED.repo_name,
+                popularity_score = EXCLUDED.popularity_score,
+                recorded_at = EXCLUDED.recorded_at
+            WHERE repository_scores.recorded_at IS NULL
+               OR repository_scores.recorded_at <= EXCLUDED.recorded_at""";
+
+    private static final String SELECT_SCORES = "SELECT repo_id, popularity_score FROM repository_scores";
+    private static final int SCAN_FETCH_SIZE = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    RepositoryScoreRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional
+    public void upsertAll(List<RepositoryScore> repositoryScores) {
+        if (repositoryScores.isEmpty()) {
+            return;
+        }
+        // Locking rows in repo_id order keeps concurrent batches over the same repositories from deadlocking.
+        List<RepositoryScore> orderedScores = repositoryScores.stream()
+                .sorted(Comparator.comparingLong(RepositoryScore::getRepoId))
+                .toList();
+        int[][] updateCounts = jdbcTemplate.batchUpdate(UPDATE_SCORE, orderedScores, orderedScores.size(), (statement, score) -> {
+            statement.setString(1, score.getRepoName());
+            statement.setDouble(2, score.getPopularityScore());
+            statement.setTimestamp(3, toTimestamp(score));
+            statement.setLong(4, score.getRepoId());
+            statement.setTimestamp(5, toTimestamp(score));
+        });
+        // Scores that updated nothing are either new repositories or older than the stored score.
+        List<RepositoryScore> unmatchedScores = new ArrayList<>();
+        for (int i = 0; i < orderedScores.size(); i++) {
+            if (updateCounts[0][i] == 0) {
+                unmatchedScores.add(orderedScores.get(i));
+            }
+        }
+        if (unmatchedScores.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SCORE, unmatchedScores, unmatchedScores.size(), (statement, score) -> {
+            statement.setLong(1, score.getRepoId());
+            statement.setString(2, score.getRepoName());
+            statement.setDouble(3, score.getPopularityScore());
+            statement.setTimestamp(4, toTimestamp(score));
+            statement.setLong(5, score.getRepoId());
+        });
+    }
+
+    private static Timestamp toTimestamp(RepositoryScore score) {
+        return score.getRecordedAt() == null ? null : Timestamp.valueOf(score.getRecordedAt());
+    }
+
+    // The PostgreSQL driver only streams rows with a fetch size inside a transaction; otherwise it loads the whole table.
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachScore(ScoreConsumer consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SELECT_SCORES);
+            statement.setFetchSize(SCAN_FETCH_SIZE);
+            return statement;
+        }, (RowCallbackHandler) resultSet -> consumer.accept(resultSet.getLong(1), resultSet.getDouble(2)));
+    }
+}
@@ -0,0 +1,195 @@
+package com.assignment.githubscore.repository;
+
+import com.assignment.githubscore.dto.ScoreHistoryPointDTO;
+import com.assignment.githubscore.entity.RepositoryScore;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Access to the append-only score history, which is partitioned by day and therefore managed with plain SQL
+ * rather than through JPA. Partition names are derived from dates only, never from caller input.
+ */
+@Repository
+public class ScoreHistoryRepository {
+
+    private static final String HISTORY_TABLE = "repository_score_history";
+    private static final String DEFAULT_PARTITION = HISTORY_TABLE + "_default";
+    private static final String PARTITION_PREFIX = HISTORY_TABLE + "_p";
+    private static final DateTimeFormatter PARTITION_SUFFIX_FORMATTER = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private static final String INSERT_HISTORY = """
+            INSERT INTO repository_score_history (repo_id, popularity_score, recorded_at)
+            VALUES (?, ?, ?)""";
+
+    private static final String SELECT_RAW_SERIES = """
+            SELECT recorded_at, popularity_score
+            FROM repository_score_history
+            WHERE repo_id = ? AND recorded_at >= ? AND recorded_at < ?
+            ORDER BY recorded_at DESC
+            LIMIT ?""";
+
+    private static final String SELECT_DAILY_SERIES = """
+            SELECT day, avg_score, min_score, max_score, sample_count
+            FROM repository_score_daily
+            WHERE repo_id = ? AND day >= ? AND day < ?
+            ORDER BY day DESC
+            LIMIT ?""";
+
+    private static final String PARTITION_EXISTS = "SELECT to_regclass(?) IS NOT NULL";
+
+    private static final String SELECT_PARTITIONS = """
+            SELECT child.relname
+            FROM pg_inherits
+            JOIN pg_class parent ON parent.oid = pg_inherits.inhparent
+            JOIN pg_class child ON child.oid = pg_inherits.inhrelid
+            WHERE parent.relname = ? AND child.relname LIKE ?""";
+
+    // Merges into existing aggregates, so rolling up late rows of an already aggregated day keeps the totals right.
+    private static final String ROLL_UP = """
+            INSERT INTO repository_score_daily (repo_id, day, avg_score, min_score, max_score, sample_count)
+            SELECT repo_id, CAST(recorded_at AS DATE), AVG(popularity_score), MIN(popularity_score), MAX(popularity_score), COUNT(*)
+            FROM %s
+            WHERE recorded_at < ?
+            GROUP BY repo_id, CAST(recorded_at AS DATE)
+            ON CONFLICT (repo_id, day) DO UPDATE SET
+                avg_score = (repository_score_daily.avg_score * repository_score_daily.sample_count
+                             + EXCLUDED.avg_score * EXCLUDED.sample_count)
+                            / (repository_score_daily.sample_count + EXCLUDED.sample_count),
+                min_score = LEAST(repository_score_daily.min_score, EXCLUDED.min_score),
+                max_score = GREATEST(repository_score_daily.max_score, EXCLUDED.max_score),
+                sample_count = repository_score_daily.sample_count + EXCLUDED.sample_count""";
+
+    private static final RowMapper<ScoreHistoryPointDTO> RAW_POINT_MAPPER = (resultSet, rowNum) -> {
+        double popularityScore = resultSet.getDouble("popularity_score");
+        return new ScoreHistoryPointDTO(resultSet.getTimestamp("recorded_at").toLocalDateTime(),
+                popularityScore, popularityScore, popularityScore, 1);
+    };
+
+    private static final RowMapper<ScoreHistoryPointDTO> DAILY_POINT_MAPPER = (resultSet, rowNum) ->
+            new ScoreHistoryPointDTO(resultSet.getDate("day").toLocalDate().atStartOfDay(),
+                    resultSet.getDouble("avg_score"), resultSet.getDouble("min_score"),
+                    resultSet.getDouble("max_score"), resultSet.getInt("sample_count"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ScoreHistoryRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Appends the given scores to the history in a single JDBC batch.
+     *
+     * @param repositoryScores The scores to append.
+     */
+    public void appendAll(List<RepositoryScore> repositoryScores) {
+        jdbcTemplate.batchUpdate(INSERT_HISTORY, repositoryScores, repositoryScores.size(), (statement, score) -> {
+            statement.setLong(1, score.getRepoId());
+            statement.setDouble(2, score.getPopularityScore());
+            statement.setTimestamp(3, Timestamp.valueOf(score.getRecordedAt()));
+        });
+    }
+
+    /**
+     * Finds the most recent raw scores of a repository within a time window, newest first.
+     * The query is answered from the partitions overlapping the window through the (repo_id, recorded_at) index.
+     */
+    public List<ScoreHistoryPointDTO> findRawSeries(long repoId, LocalDateTime from, LocalDateTime to, int limit) {
+        return jdbcTemplate.query(SELECT_RAW_SERIES, RAW_POINT_MAPPER,
+                repoId, Timestamp.valueOf(from), Timestamp.valueOf(to), limit);
+    }
+
+    /**
+     * Finds the most recent daily aggregates of a repository within a date range, newest first.
+     */
+    public List<ScoreHistoryPointDTO> findDailySeries(long repoId, LocalDate from, LocalDate to, int limit) {
+        return jdbcTemplate.query(SELECT_DAILY_SERIES, DAILY_POINT_MAPPER,
+                repoId, Date.valueOf(from), Date.valueOf(to), limit);
+    }
+
+    /**
+     * Creates the history partition of a day unless it already exists, in one transaction.
+     * Scores of the day recorded while the partition was missing sit in the default partition, and Postgres refuses
+     * a new partition whose rows the default partition still holds. The partition is therefore built as a standalone
+     * table, the day's rows are moved into it from the default partition, and it is attached afterwards.
+     *
+     * @param day The day covered by the partition.
+     */
+    @Transactional
+    public void createPartition(LocalDate day) {
+        String partition = partitionName(day);
+        if (Boolean.TRUE.equals(jdbcTemplate.queryForObject(PARTITION_EXISTS, Boolean.class, partition))) {
+            return;
+        }
+        jdbcTemplate.execute(STR."CREATE TABLE \{partition} (LIKE \{HISTORY_TABLE} INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+        jdbcTemplate.update(STR."""
+                WITH moved AS (
+                    DELETE FROM \{DEFAULT_PARTITION}
+                    WHERE recorded_at >= ? AND recorded_at < ?
+                    RETURNING repo_id, popularity_score, recorded_at
+                )
+                INSERT INTO \{partition} (repo_id, popularity_score, recorded_at)
+                SELECT repo_id, popularity_score, recorded_at FROM moved""",
+                Timestamp.valueOf(day.atStartOfDay()), Timestamp.valueOf(day.plusDays(1).atStartOfDay()));
+        jdbcTemplate.execute(STR."""
+                ALTER TABLE \{HISTORY_TABLE}
+                ATTACH PARTITION \{partition}
+                FOR VALUES FROM ('\{day}') TO ('\{day.plusDays(1)}')""");
+    }
+
+    /**
+     * Lists the days that have a history partition, excluding the default partition.
+     */
+    public List<LocalDate> findPartitionDays() {
+        return jdbcTemplate.queryForList(SELECT_PARTITIONS, String.class, HISTORY_TABLE, PARTITION_PREFIX + "%").stream()
+                .map(name -> LocalDate.parse(name.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX_FORMATTER))
+                .toList();
+    }
+
+    /**
+     * Aggregates the partition of a day into daily scores and drops it, in one transaction.
+     *
+     * @param day The day covered by the partition.
+     */
+    @Transactional
+    public void rollUpAndDropPartition(LocalDate day) {
+        String partition = partitionName(day);
+        jdbcTemplate.update(ROLL_UP.formatted(partition), Timestamp.valueOf(day.plusDays(1).atStartOfDay()));
+        jdbcTemplate.execute(STR."DROP TABLE \{partition}");
+    }
+
+    /**
+     * Aggregates rows of the default partition recorded before a cutoff into daily scores and deletes them, in one transaction.
+     *
+     * @param before The cutoff; rows recorded before it are rolled up.
+     * @return The number of rows removed from the default partition.
+     */
+    @Transactional
+    public int rollUpAndDeleteDefaultPartition(LocalDateTime before) {
+        Timestamp cutoff = Timestamp.valueOf(before);
+        jdbcTemplate.update(ROLL_UP.formatted(DEFAULT_PARTITION), cutoff);
+        return jdbcTemplate.update(STR."DELETE FROM \{DEFAULT_PARTITION} WHERE recorded_at < ?", cutoff);
+    }
+
+    /**
+     * Deletes daily scores of days before a cutoff.
+     *
+     * @param before The first day to keep.
+     * @return The number of deleted daily scores.
+     */
+    public int deleteDailyBefore(LocalDate before) {
+        return jdbcTemplate.update("DELETE FROM repository_score_daily WHERE day < ?", Date.valueOf(before));
+    }
+
+    private static String partitionName(LocalDate day) {
+        return PARTITION_PREFIX + day.format(PARTITION_SUFFIX_FORMATTER);
+    }
+}
@@ -1,27 +1,104 @@
 package com.assignment.githubscore.service;
 
 import com.assignment.githubscore.exception.GitHubApiErrorHandler;
+import com.assignment.githubscore.exception.RateLimitExceededException;
+import com.assignment.githubscore.mapper.SearchResponseDecoder;
+import com.assignment.githubscore.model.RepoItem;
 import com.assignment.githubscore.model.SearchResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Meter.MeterProvider;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.http.Outcome;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.contextpropagation.ObservationThreadLocalAccessor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.BodyExtractors;
+import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+import reactor.util.retry.RetryBackoffSpec;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class GitHubAPIClient {
 
     private final WebClient webClient;
+    private final int pageSize;
+    private final int pageCount;
+    private final int fetchConcurrency;
+    private final int maxResponseBytes;
+    private final Cache<String, CachedPage> cachedPages;
+    private final GitHubRateLimiter rateLimiter;
+    private final RetryBackoffSpec retrySpec;
+    private final SearchResponseDecoder searchResponseDecoder;
+    private final MeterProvider<Timer> requestTimers;
+    private final Timer decodeTimer;
+    private final ObservationRegistry observationRegistry;
     private static final String GITHUB_V3_JSON_MEDIA_TYPE = "application/vnd.github.v3+json";
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_SEARCH_RESULTS = 1000;
+    private static final double RETRY_JITTER = 0.5;
+    private static final String IO_ERROR_STATUS = "IO_ERROR";
+    private static final String SEARCH_OBSERVATION = "github.api.search";
+    private static final String ANY_LANGUAGE = "any";
 
-    public GitHubAPIClient(@Value("${github.api.url}") String gitHubApiUrl, WebClient.Builder webClientBuilder) {
+    public GitHubAPIClient(@Value("${github.api.url}") String gitHubApiUrl,
+                           @Value("${github.search.page-size:100}") int pageSize,
+                           @Value("${github.search.page-count:1}") int pageCount,
+                           @Value("${github.search.fetch-concurrency:10}") int fetchConcurrency,
+                           @Value("${github.api.conditional-cache.max-size:200}") long conditionalCacheMaxSize,
+                           @Value("${github.api.max-response-size:10MB}") DataSize maxResponseSize,
+                           @Value("${github.api.retry.max-retries:2}") int maxRetries,
+                           @Value("${github.api.retry.min-backoff:500ms}") Duration minBackoff,
+                           GitHubRateLimiter rateLimiter,
+                           SearchResponseDecoder searchResponseDecoder,
+                           WebClient.Builder webClientBuilder,
+                           MeterRegistry meterRegistry,
+                           ObservationRegistry observationRegistry) {
+        this.pageSize = Math.clamp(pageSize, 1, MAX_PAGE_SIZE);
+        this.pageCount = Math.clamp(pageCount, 1, MAX_SEARCH_RESULTS / this.pageSize);
+        this.fetchConcurrency = Math.max(fetchConcurrency, 1);
+        this.maxResponseBytes = Math.toIntExact(maxResponseSize.toBytes());
+        this.cachedPages = Caffeine.newBuilder()
+                .maximumSize(conditionalCacheMaxSize)
+                .build();
+        this.rateLimiter = rateLimiter;
+        this.searchResponseDecoder = searchResponseDecoder;
+        this.retrySpec = Retry.backoff(maxRetries, minBackoff)
+                .jitter(RETRY_JITTER)
+                .filter(TransientGitHubApiException.class::isInstance)
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure());
         this.webClient = webClientBuilder
                 .baseUrl(gitHubApiUrl)
                 .defaultHeader(HttpHeaders.ACCEPT, GITHUB_V3_JSON_MEDIA_TYPE)
-                .codecs(configure -> configure.defaultCodecs().maxInMemorySize(1024 * 1024))
                 .build();
+        this.requestTimers = Timer.builder("github.api.requests")
+                .description("Time until GitHub answers a search page request, per attempt, by status and outcome")
+                .withRegistry(meterRegistry);
+        this.decodeTimer = Timer.builder("github.api.decode")
+                .description("Time taken to decode a downloaded GitHub search page")
+                .register(meterRegistry);
+        this.observationRegistry = observationRegistry;
     }
 
     /**
@@ -32,26 +109,222 @@ public class GitHubAPIClient {
      * @return The response containing the search results.
      */
     public SearchResponse searchRepositories(String language, LocalDate earliestCreatedDate) {
-        String url = buildSearchUrl(language, earliestCreatedDate);
-        return fetchData(url)
+        return searchRepositoriesReactive(language, earliestCreatedDate)
                 .blockOptional()
                 .orElse(null);
     }
 
+    /**
+     * Searches GitHub repositories based on language and earliest created date without blocking the caller.
+     * Only the pages that can hold results are requested, at most the configured number, and they are merged in page order.
+     * The search is observed as a child of the current observation, tagged with the language, the number of pages
+     * fetched and the number of repositories found, and the HTTP exchanges of its pages are observed as its children.
+     *
+     * @param language            The programming language to filter repositories.
+     * @param earliestCreatedDate The earliest date when repositories were created.
+     * @return A mono emitting the response containing the search results of all pages.
+     */
+    public Mono<SearchResponse> searchRepositoriesReactive(String language, LocalDate earliestCreatedDate) {
+        return Mono.defer(() -> {
+            Observation observation = Observation.createNotStarted(SEARCH_OBSERVATION, observationRegistry)
+                    .contextualName("github search")
+                    .highCardinalityKeyValue("github.language", language == null ? ANY_LANGUAGE : language)
+                    .start();
+            return fetchPages(language, earliestCreatedDate)
+                    .collectList()
+                    .filter(pages -> !pages.isEmpty())
+                    .doOnNext(pages -> observation.lowCardinalityKeyValue("github.page.count", String.valueOf(pages.size())))
+                    .map(this::mergePages)
+                    .doOnNext(response -> observation.highCardinalityKeyValue("github.item.count",
+                            String.valueOf(response.items() == null ? 0 : response.items().size())))
+                    .doOnError(observation::error)
+                    .doFinally(signal -> observation.stop())
+                    .contextWrite(context -> context.put(ObservationThreadLocalAccessor.KEY, observation));
+        });
+    }
+
+    /**
+     * Fetches the result pages of a search in page order. The number of pages is bounded by the total count of
+     * the search, learned from the previously fetched first page if there is one, so the remaining pages are requested
+     * concurrently with it; otherwise the first page is fetched before the others. No further pages are requested
+     * once a page comes back short, since every later page would be empty.
+     *
+     * @param language            The programming language to filter repositories.
+     * @param earliestCreatedDate The earliest date when repositories were created.
+     * @return A flux emitting the pages of the search in page order.
+     */
+    private Flux<SearchResponse> fetchPages(String language, LocalDate earliestCreatedDate) {
+        CachedPage cachedFirstPage = cachedPages.getIfPresent(buildSearchUrl(language, earliestCreatedDate, 1));
+        if (cachedFirstPage != null) {
+            return fetchPages(language, earliestCreatedDate, 1, pagesFor(cachedFirstPage.searchResponse()));
+        }
+        return fetchData(buildSearchUrl(language, earliestCreatedDate, 1))
+                .flatMapMany(firstPage -> isShortPage(firstPage)
+                        ? Flux.just(firstPage)
+                        : Flux.just(firstPage).concatWith(fetchPages(language, earliestCreatedDate, 2, pagesFor(firstPage))));
+    }
+
+    private Flux<SearchResponse> fetchPages(String language, LocalDate earliestCreatedDate, int firstPage, int lastPage) {
+        return Flux.range(firstPage, Math.max(lastPage - firstPage + 1, 0))
+                .flatMapSequential(page -> fetchData(buildSearchUrl(language, earliestCreatedDate, page)), fetchConcurrency)
+                .takeUntil(this::isShortPage);
+    }
+
+    /**
+     * Returns the number of pages needed for the results of a search, capped by GitHub's search result limit
+     * and the configured number of pages.
+     */
+    private int pagesFor(SearchResponse page) {
+        int results = Math.min(page.totalCount(), MAX_SEARCH_RESULTS);
+        return Math.clamp(Math.ceilDiv(results, pageSize), 1, pageCount);
+    }
+
+    private boolean isShortPage(SearchResponse page) {
+        return page.items() == null || page.items().size() < pageSize;
+    }
+
+    /**
+     * Fetches a single search page. When the page was fetched before, the request carries its
+     * ETag and Last-Modified validators and a 304 Not Modified answer reuses the previously parsed response,
+     * which skips both the download and the JSON decoding and is not counted against the GitHub rate limit.
+     * Every attempt takes a permit from the rate limiter, and rate-limited or server-side failures are
+     * retried with jittered exponential backoff. The time from sending an attempt until its status arrives is recorded
+     * by status and outcome, excluding the wait for a permit.
+     *
+     * @param url The search URL of the page.
+     * @return A mono emitting the response of the page.
+     */
     private Mono<SearchResponse> fetchData(String url) {
-        return webClient.get()
-                .uri(url)
-                .retrieve()
-                .onStatus(status -> status.is4xxClientError() || status.is5xxServerError(),
-                        response -> Mono.error(
-                                new GitHubApiErrorHandler(STR."Failed to fetch data from GitHub API. Client error: \{response.statusCode()}"))
-                )
-                .bodyToMono(SearchResponse.class)
-                .onErrorResume(throwable -> Mono.error(
-                        new GitHubApiErrorHandler(STR."Error fetching data from \{url}: \{throwable.getMessage()}")));
-    }
-
-    private String buildSearchUrl(String language, LocalDate earliestCreatedDate) {
-        return STR."/search/repositories?q=language:\{language}+created:>=\{earliestCreatedDate}";
-    }
-}
\ No newline at end of file
+        return Mono.defer(() -> {
+                    CachedPage cachedPage = cachedPages.getIfPresent(url);
+                    return rateLimiter.acquire().then(Mono.defer(() -> {
+                        long start = System.nanoTime();
+                        return webClient.get()
+                                .uri(url)
+                                .headers(headers -> addConditionalHeaders(headers, cachedPage))
+                                .exchangeToMono(response -> {
+                                    recordRequest(String.valueOf(response.statusCode().value()),
+                                            Outcome.forStatus(response.statusCode().value()), start);
+                                    return handleResponse(url, cachedPage, response);
+                                })
+                                .doOnError(WebClientRequestException.class,
+                                        e -> recordRequest(IO_ERROR_STATUS, Outcome.UNKNOWN, start));
+                    }));
+                })
+                .retryWhen(retrySpec)
+                .onErrorResume(throwable -> throwable instanceof RateLimitExceededException
+                        ? Mono.error(throwable)
+                        : Mono.error(new GitHubApiErrorHandler(STR."Error fetching data from \{url}: \{throwable.getMessage()}")));
+    }
+
+    private void recordRequest(String status, Outcome outcome, long start) {
+        requestTimers.withTags("status", status, "outcome", outcome.name())
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private void addConditionalHeaders(HttpHeaders headers, CachedPage cachedPage) {
+        if (cachedPage == null) {
+            return;
+        }
+        if (cachedPage.eTag() != null) {
+            headers.setIfNoneMatch(cachedPage.eTag());
+        }
+        if (cachedPage.lastModified() != null) {
+            headers.set(HttpHeaders.IF_MODIFIED_SINCE, cachedPage.lastModified());
+        }
+    }
+
+    private Mono<SearchResponse> handleResponse(String url, CachedPage cachedPage, ClientResponse response) {
+        HttpStatusCode status = response.statusCode();
+        HttpHeaders headers = response.headers().asHttpHeaders();
+        rateLimiter.update(headers);
+        if (status.isSameCodeAs(HttpStatus.NOT_MODIFIED) && cachedPage != null) {
+            return response.releaseBody().thenReturn(cachedPage.searchResponse());
+        }
+        if (isTransientFailure(status, headers)) {
+            return response.releaseBody().then(Mono.error(
+                    new TransientGitHubApiException(STR."GitHub API temporarily unavailable: \{status}")));
+        }
+        if (status.is4xxClientError() || status.is5xxServerError()) {
+            return response.releaseBody().then(Mono.error(
+                    new GitHubApiErrorHandler(STR."Failed to fetch data from GitHub API. Client error: \{status}")));
+        }
+        return DataBufferUtils.join(response.body(BodyExtractors.toDataBuffers()), maxResponseBytes)
+                .map(this::decode)
+                .doOnNext(searchResponse -> rememberPage(url, headers, searchResponse));
+    }
+
+    /**
+     * Decodes a search page with the streaming {@link SearchResponseDecoder}, which keeps only the fields
+     * of {@link RepoItem}. The page is not bound through the WebClient codecs, so it is buffered up to the configured
+     * maximum response size instead of their in-memory limit, and the buffer is released once it has been parsed.
+     */
+    private SearchResponse decode(DataBuffer dataBuffer) {
+        long start = System.nanoTime();
+        try (InputStream inputStream = dataBuffer.asInputStream(true)) {
+            return searchResponseDecoder.decode(inputStream);
+        } catch (IOException e) {
+            throw new GitHubApiErrorHandler(STR."Failed to decode GitHub search response: \{e.getMessage()}");
+        } finally {
+            decodeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void rememberPage(String url, HttpHeaders headers, SearchResponse searchResponse) {
+        String eTag = headers.getETag();
+        String lastModified = headers.getFirst(HttpHeaders.LAST_MODIFIED);
+        if (eTag != null || lastModified != null) {
+            cachedPages.put(url, new CachedPage(eTag, lastModified, searchResponse));
+        }
+    }
+
+    /**
+     * Merges result pages into a single response, keeping the order of the pages.
+     *
+     * @param pages The result pages, ordered by page number.
+     * @return The merged response.
+     */
+    private SearchResponse mergePages(List<SearchResponse> pages) {
+        if (pages.size() == 1) {
+            return pages.getFirst();
+        }
+        List<RepoItem> items = new ArrayList<>(pageSize * pages.size());
+        boolean incompleteResults = false;
+        for (SearchResponse page : pages) {
+            if (page.items() != null) {
+                items.addAll(page.items());
+            }
+            incompleteResults |= page.incompleteResults();
+        }
+        return new SearchResponse(pages.getFirst().totalCount(), incompleteResults, items);
+    }
+
+    /**
+     * Whether a failed request is worth retrying: rate-limited answers (429, or 403 carrying an exhausted quota
+     * or a Retry-After header, which is how GitHub reports secondary rate limits) and server-side errors.
+     */
+    private static boolean isTransientFailure(HttpStatusCode status, HttpHeaders headers) {
+        if (status.isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS) || status.is5xxServerError()) {
+            return true;
+        }
+        return status.isSameCodeAs(HttpStatus.FORBIDDEN)
+                && ("0".equals(headers.getFirst(GitHubRateLimiter.RATE_LIMIT_REMAINING_HEADER))
+                || headers.containsKey(HttpHeaders.RETRY_AFTER));
+    }
+
+    private static final class TransientGitHubApiException extends GitHubApiErrorHandler {
+        private TransientGitHubApiException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * A previously fetched search page together with the validators needed to revalidate it.
+     */
+    private record CachedPage(String eTag, String lastModified, SearchResponse searchResponse) {
+    }
+
+    private String buildSearchUrl(String language, LocalDate earliestCreatedDate, int page) {
+        return STR."/search/repositories?q=language:\{language}+created:>=\{earliestCreatedDate}&per_page=\{pageSize}&page=\{page}";
+    }
+}
@@ -0,0 +1,205 @@
+package com.assignment.githubscore.service;
+
+import com.assignment.githubscore.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Token-bucket scheduler for outbound GitHub API calls.
+ * Requests take a permit before they are sent; when no permit is available they are queued until one is,
+ * and they are rejected when the queue is full or the wait would be too long.
+ * The bucket is kept in line with the quota GitHub reports in its rate-limit response headers.
+ */
+@Component
+public class GitHubRateLimiter {
+
+    static final String RATE_LIMIT_REMAINING_HEADER = "X-RateLimit-Remaining";
+    static final String RATE_LIMIT_RESET_HEADER = "X-RateLimit-Reset";
+    private static final long REJECTED = -1;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final double capacity;
+    private final double permitsPerNano;
+    private final int maxQueueSize;
+    private final long maxWaitNanos;
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final Counter rejectedRequests;
+    private volatile double remainingQuota = Double.NaN;
+    private double tokens;
+    private long lastRefillNanos;
+    private long blockedUntilNanos;
+
+    public GitHubRateLimiter(@Value("${github.api.rate-limit.requests-per-minute:10}") int requestsPerMinute,
+                             @Value("${github.api.rate-limit.max-queue-size:100}") int maxQueueSize,
+                             @Value("${github.api.rate-limit.max-wait:30s}") Duration maxWait,
+                             MeterRegistry meterRegistry) {
+        this.capacity = Math.max(requestsPerMinute, 1);
+        this.permitsPerNano = capacity / TimeUnit.MINUTES.toNanos(1);
+        this.maxQueueSize = maxQueueSize;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.tokens = capacity;
+        this.lastRefillNanos = System.nanoTime();
+        this.blockedUntilNanos = lastRefillNanos;
+
+        Gauge.builder("github.api.ratelimit.queue.depth", queueDepth, AtomicInteger::get)
+                .description("GitHub API requests waiting for a rate-limit permit")
+                .register(meterRegistry);
+        Gauge.builder("github.api.ratelimit.remaining", this, limiter -> limiter.remainingQuota)
+                .description("Remaining GitHub API quota as last reported by GitHub")
+                .register(meterRegistry);
+        this.rejectedRequests = Counter.builder("github.api.ratelimit.rejected")
+                .description("GitHub API requests rejected before reaching GitHub to stay within the rate limit")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Takes a permit for one GitHub API request.
+     *
+     * @return A mono completing once the request may be sent, or failing with {@link RateLimitExceededException}
+     * when the request is rejected.
+     */
+    public Mono<Void> acquire() {
+        long waitNanos = reserve();
+        if (waitNanos == REJECTED) {
+            rejectedRequests.increment();
+            return Mono.error(new RateLimitExceededException("GitHub API rate limit reached, try again later"));
+        }
+        if (waitNanos == 0) {
+            return Mono.empty();
+        }
+        // Leave the queue before the permit is handed downstream, so the gauge never counts a granted request.
+        return Mono.delay(Duration.ofNanos(waitNanos))
+                .then()
+                .doOnTerminate(queueDepth::decrementAndGet)
+                .doOnCancel(this::cancelReservation);
+    }
+
+    /**
+     * Aligns the bucket with the rate-limit headers of a GitHub API response.
+     * An exhausted quota blocks all requests until the reported reset time, and a Retry-After header
+     * blocks them for the given number of seconds.
+     *
+     * @param headers The headers of the GitHub API response.
+     */
+    public void update(HttpHeaders headers) {
+        Long remaining = parseLong(headers.getFirst(RATE_LIMIT_REMAINING_HEADER));
+        Long resetEpochSecond = parseLong(headers.getFirst(RATE_LIMIT_RESET_HEADER));
+        Long retryAfterSeconds = parseLong(headers.getFirst(HttpHeaders.RETRY_AFTER));
+
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            refill(now);
+            if (remaining != null) {
+                remainingQuota = remaining;
+                tokens = Math.min(tokens, remaining);
+                if (remaining == 0 && resetEpochSecond != null) {
+                    long secondsUntilReset = Math.max(resetEpochSecond - Instant.now().getEpochSecond(), 0);
+                    blockUntil(now + TimeUnit.SECONDS.toNanos(secondsUntilReset));
+                }
+            }
+            if (retryAfterSeconds != null) {
+                blockUntil(now + TimeUnit.SECONDS.toNanos(retryAfterSeconds));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    public double getRemainingQuota() {
+        return remainingQuota;
+    }
+
+    /**
+     * Returns the number of permits that can be taken right now without waiting.
+     */
+    public double getAvailablePermits() {
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            refill(now);
+            return blockedUntilNanos > now ? 0 : Math.max(tokens, 0);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reserves a permit and returns how long the caller has to wait for it.
+     * Permits may be reserved ahead of the refill, which lets the bucket go negative; the deficit is
+     * what later callers wait for.
+     *
+     * @return The wait in nanoseconds, or {@link #REJECTED} if the request must be rejected.
+     */
+    private long reserve() {
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            refill(now);
+            long waitNanos = Math.max(blockedUntilNanos - now, 0);
+            if (tokens < 1) {
+                waitNanos = Math.max(waitNanos, (long) Math.ceil((1 - tokens) / permitsPerNano));
+            }
+            if (waitNanos > 0 && (queueDepth.get() >= maxQueueSize || waitNanos > maxWaitNanos)) {
+                return REJECTED;
+            }
+            tokens -= 1;
+            if (waitNanos > 0) {
+                queueDepth.incrementAndGet();
+            }
+            return waitNanos;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Leaves the queue and returns the permit reserved by a cancelled request, so that later callers
+     * do not wait for a permit nobody used.
+     */
+    private void cancelReservation() {
+        lock.lock();
+        try {
+            queueDepth.decrementAndGet();
+            refill(System.nanoTime());
+            tokens = Math.min(capacity, tokens + 1);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void refill(long now) {
+        tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * permitsPerNano);
+        lastRefillNanos = now;
+    }
+
+    private void blockUntil(long nanos) {
+        blockedUntilNanos = Math.max(blockedUntilNanos, nanos);
+    }
+
+    private static Long parseLong(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
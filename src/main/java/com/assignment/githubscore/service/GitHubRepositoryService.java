@@ -1,35 +1,90 @@
 package com.assignment.githubscore.service;
 
+import com.assignment.githubscore.dto.ProfileRankingDTO;
+import com.assignment.githubscore.dto.RankedRepositoryDTO;
 import com.assignment.githubscore.dto.RepoItemDTO;
+import com.assignment.githubscore.dto.RepoItemPageDTO;
+import com.assignment.githubscore.dto.UserPreferencesDTO;
+import com.assignment.githubscore.dto.WeightProfileDTO;
+import com.assignment.githubscore.dto.WhatIfScoringRequestDTO;
 import com.assignment.githubscore.entity.RepositoryScore;
+import com.assignment.githubscore.enums.RepoSortField;
+import com.assignment.githubscore.exception.IllegalArgumentException;
+import com.assignment.githubscore.exception.RateLimitExceededException;
 import com.assignment.githubscore.mapper.GitHubDtoMapper;
 import com.assignment.githubscore.model.RepoItem;
+import com.assignment.githubscore.model.SearchQuery;
 import com.assignment.githubscore.model.SearchResponse;
 import com.assignment.githubscore.repository.RepositoryScoreRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Optional;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 @Service
 public class GitHubRepositoryService {
 
-    private final GitHubAPIClient gitHubAPIClient;
+    public static final int MAX_PAGE_SIZE = 100;
+    private static final String SORT_ASCENDING = "asc";
+    private static final String SORT_DESCENDING = "desc";
+    public static final int MAX_WHAT_IF_PROFILES = 100;
+    private static final int STREAM_CHUNK_SIZE = 100;
+
+    private final SearchResponseCache searchResponseCache;
     private final GitHubDtoMapper gitHubDtoMapper;
     private final ScoringService scoringService;
     private final RepositoryScoreRepository repositoryScoreRepository;
+    private final ScoreWriteBehindQueue scoreWriteBehindQueue;
+    private final PreviousScoreIndex previousScoreIndex;
+    private final Scheduler persistenceScheduler;
+    private final Timer fetchTimer;
+    private final Timer previousScoresTimer;
+    private final Timer scoringTimer;
+    private final Timer mappingTimer;
+    private final Timer persistenceTimer;
+    private final DistributionSummary searchSize;
 
-    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ISO_DATE_TIME;
-
-    public GitHubRepositoryService(GitHubAPIClient gitHubAPIClient, GitHubDtoMapper gitHubDtoMapper,
-                                   ScoringService scoringService, RepositoryScoreRepository repositoryScoreRepository) {
-        this.gitHubAPIClient = gitHubAPIClient;
+    public GitHubRepositoryService(SearchResponseCache searchResponseCache, GitHubDtoMapper gitHubDtoMapper,
+                                   ScoringService scoringService, RepositoryScoreRepository repositoryScoreRepository,
+                                   ScoreWriteBehindQueue scoreWriteBehindQueue, PreviousScoreIndex previousScoreIndex,
+                                   Scheduler persistenceScheduler, MeterRegistry meterRegistry) {
+        this.searchResponseCache = searchResponseCache;
         this.gitHubDtoMapper = gitHubDtoMapper;
         this.scoringService = scoringService;
         this.repositoryScoreRepository = repositoryScoreRepository;
+        this.scoreWriteBehindQueue = scoreWriteBehindQueue;
+        this.previousScoreIndex = previousScoreIndex;
+        this.persistenceScheduler = persistenceScheduler;
+
+        Meter.MeterProvider<Timer> stageTimers = Timer.builder("github.search.stage")
+                .description("Time spent in each stage of a search: fetching the GitHub response, looking up previous scores, "
+                        + "scoring, mapping to DTOs and handing the scores over for persistence")
+                .withRegistry(meterRegistry);
+        this.fetchTimer = stageTimers.withTag("stage", "fetch");
+        this.previousScoresTimer = stageTimers.withTag("stage", "previous-scores");
+        this.scoringTimer = stageTimers.withTag("stage", "scoring");
+        this.mappingTimer = stageTimers.withTag("stage", "mapping");
+        this.persistenceTimer = stageTimers.withTag("stage", "persistence");
+        this.searchSize = DistributionSummary.builder("github.search.items")
+                .description("Repositories returned by GitHub per search")
+                .baseUnit("repositories")
+                .register(meterRegistry);
     }
 
     /**
@@ -43,78 +98,354 @@ public class GitHubRepositoryService {
 
     public List<RepoItemDTO> getFilteredRepositories(String language, LocalDate earliestCreatedDate, long userId) {
         SearchResponse searchResponse = fetchRepositories(language, earliestCreatedDate);
-        int maxStars = findMaxStarsCount(searchResponse);
-        int maxForks = findMaxForksCount(searchResponse);
-        return mapToRepoItemDTOs(searchResponse, maxStars, maxForks, earliestCreatedDate, userId);
+        recordSearchSize(searchResponse);
+        return mapToRepoItemDTOs(searchResponse, createScoringContext(searchResponse, earliestCreatedDate, userId));
+    }
+
+    /**
+     * Retrieves one page of filtered repositories, optionally restricted to a minimum popularity score and sorted.
+     * Sorted pages are selected with a bounded heap over the scored repositories rather than a full sort.
+     *
+     * @param language            The programming language to filter repositories.
+     * @param earliestCreatedDate The earliest date when repositories were created.
+     * @param userId              The ID of the user requesting the repositories.
+     * @param page                The zero-based page number.
+     * @param size                The number of repositories per page, at most {@value #MAX_PAGE_SIZE}.
+     * @param sort                The sort order as {@code field} or {@code field,asc|desc}, descending by default,
+     *                            or {@code null} to keep GitHub's order.
+     * @param minScore            The minimum popularity score of returned repositories, or {@code null} for no minimum.
+     * @return The requested page and the number of repositories matching the search.
+     * @throws IllegalArgumentException if the page, size or sort order is invalid.
+     */
+    public RepoItemPageDTO getRepositoryPage(String language, LocalDate earliestCreatedDate, long userId,
+                                             int page, int size, String sort, Double minScore) {
+        if (page < 0) {
+            throw new IllegalArgumentException("The page must not be negative");
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException(STR."The page size must be between 1 and \{MAX_PAGE_SIZE}");
+        }
+        Comparator<RepoItemDTO> order = sort == null || sort.isBlank() ? null : parseSort(sort);
+
+        List<RepoItemDTO> repositories = getRepositoriesAboveScore(language, earliestCreatedDate, userId, minScore);
+        long offset = (long) page * size;
+        if (offset >= repositories.size()) {
+            return new RepoItemPageDTO(List.of(), repositories.size());
+        }
+        List<RepoItemDTO> items = order == null
+                ? repositories.subList((int) offset, (int) Math.min(offset + size, repositories.size()))
+                : TopKSelector.select(repositories, order, (int) offset, size);
+        return new RepoItemPageDTO(items, repositories.size());
+    }
+
+    /**
+     * Retrieves all filtered repositories of a search, optionally restricted to a minimum popularity score and sorted.
+     *
+     * @param language            The programming language to filter repositories.
+     * @param earliestCreatedDate The earliest date when repositories were created.
+     * @param userId              The ID of the user requesting the repositories.
+     * @param sort                The sort order as {@code field} or {@code field,asc|desc}, descending by default,
+     *                            or {@code null} to keep GitHub's order.
+     * @param minScore            The minimum popularity score of returned repositories, or {@code null} for no minimum.
+     * @return All matching repositories as a single page.
+     * @throws IllegalArgumentException if the sort order is invalid.
+     */
+    public RepoItemPageDTO getAllRepositories(String language, LocalDate earliestCreatedDate, long userId,
+                                              String sort, Double minScore) {
+        Comparator<RepoItemDTO> order = sort == null || sort.isBlank() ? null : parseSort(sort);
+
+        List<RepoItemDTO> repositories = getRepositoriesAboveScore(language, earliestCreatedDate, userId, minScore);
+        if (order != null) {
+            repositories = repositories.stream().sorted(order).toList();
+        }
+        return new RepoItemPageDTO(repositories, repositories.size());
+    }
+
+    private List<RepoItemDTO> getRepositoriesAboveScore(String language, LocalDate earliestCreatedDate, long userId,
+                                                        Double minScore) {
+        List<RepoItemDTO> repositories = getFilteredRepositories(language, earliestCreatedDate, userId);
+        if (minScore == null) {
+            return repositories;
+        }
+        return repositories.stream()
+                .filter(repository -> repository.popularityScore() >= minScore)
+                .toList();
+    }
+
+    /**
+     * Ranks the repositories of one search under several weight profiles, for comparing rankings without persisting anything.
+     * The search is fetched and its repositories normalized once, and all profiles are scored together as a matrix product.
+     * No scores are recorded and the score history is left untouched, since the profiles may be hypothetical.
+     *
+     * @param language            The programming language to filter repositories.
+     * @param earliestCreatedDate The earliest date when repositories were created.
+     * @param request             The users whose stored preferences to rank with and the ad-hoc weight profiles.
+     * @param limit               The number of repositories per ranking, at most {@value #MAX_PAGE_SIZE}.
+     * @return One ranking per profile, users first, each highest score first.
+     * @throws IllegalArgumentException if there are no or more than {@value #MAX_WHAT_IF_PROFILES} profiles, a profile weight is
+     *                                  negative or not finite, or the limit is invalid.
+     */
+    public List<ProfileRankingDTO> rankForProfiles(String language, LocalDate earliestCreatedDate,
+                                                   WhatIfScoringRequestDTO request, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException(STR."The limit must be between 1 and \{MAX_PAGE_SIZE}");
+        }
+        List<Long> userIds = request.userIds() == null ? List.of() : request.userIds();
+        List<WeightProfileDTO> weightProfiles = request.weightProfiles() == null ? List.of() : request.weightProfiles();
+        int profileCount = userIds.size() + weightProfiles.size();
+        if (profileCount == 0 || profileCount > MAX_WHAT_IF_PROFILES) {
+            throw new IllegalArgumentException(STR."Between 1 and \{MAX_WHAT_IF_PROFILES} profiles can be ranked per request");
+        }
+        if (userIds.stream().anyMatch(Objects::isNull) || weightProfiles.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("Profiles must not be null");
+        }
+        for (WeightProfileDTO weightProfile : weightProfiles) {
+            if (!isValidWeight(weightProfile.starsWeight()) || !isValidWeight(weightProfile.forksWeight())
+                    || !isValidWeight(weightProfile.recencyWeight())) {
+                throw new IllegalArgumentException("Profile weights must be finite and not negative");
+            }
+        }
+
+        List<WeightProfileDTO> profiles = new ArrayList<>(profileCount);
+        for (long profileUserId : userIds) {
+            UserPreferencesDTO userPreferences = scoringService.resolveUserPreferences(profileUserId);
+            profiles.add(new WeightProfileDTO(STR."user:\{profileUserId}", userPreferences.starsWeight(),
+                    userPreferences.forksWeight(), userPreferences.recencyWeight()));
+        }
+        for (int index = 0; index < weightProfiles.size(); index++) {
+            WeightProfileDTO weightProfile = weightProfiles.get(index);
+            profiles.add(weightProfile.name() != null ? weightProfile : new WeightProfileDTO(STR."profile:\{index}",
+                    weightProfile.starsWeight(), weightProfile.forksWeight(), weightProfile.recencyWeight()));
+        }
+
+        SearchResponse searchResponse = fetchRepositories(language, earliestCreatedDate);
+        List<RepoItem> items = searchResponse == null || searchResponse.items() == null ? List.of() : searchResponse.items();
+        double[][] scores = items.isEmpty()
+                ? new double[profiles.size()][0]
+                : scoringService.calculateProfileScores(items, scoringService.createContext(findMaxStarsCount(searchResponse),
+                findMaxForksCount(searchResponse), earliestCreatedDate), profiles);
+
+        List<Integer> indexes = IntStream.range(0, items.size()).boxed().toList();
+        List<ProfileRankingDTO> rankings = new ArrayList<>(profiles.size());
+        for (int profile = 0; profile < profiles.size(); profile++) {
+            double[] profileScores = scores[profile];
+            Comparator<Integer> bestFirst = Comparator.<Integer>comparingDouble(index -> profileScores[index]).reversed()
+                    .thenComparingLong(index -> items.get(index).id());
+            List<RankedRepositoryDTO> ranking = TopKSelector.select(indexes, bestFirst, 0, limit).stream()
+                    .map(index -> new RankedRepositoryDTO(items.get(index).id(), items.get(index).fullName(), profileScores[index]))
+                    .toList();
+            rankings.add(new ProfileRankingDTO(profiles.get(profile), ranking));
+        }
+        return rankings;
+    }
+
+    /**
+     * Parses a sort order of the form {@code field} or {@code field,asc|desc}. Ties are broken by repository ID
+     * so that pages do not overlap.
+     */
+    private static boolean isValidWeight(double weight) {
+        return Double.isFinite(weight) && weight >= 0;
+    }
+
+    private Comparator<RepoItemDTO> parseSort(String sort) {
+        String[] parts = sort.split(",", -1);
+        if (parts.length > 2) {
+            throw new IllegalArgumentException(STR."Invalid sort order: \{sort}");
+        }
+        RepoSortField field = RepoSortField.fromParameterName(parts[0].trim())
+                .orElseThrow(() -> new IllegalArgumentException(STR."Unsupported sort field: \{parts[0].trim()}"));
+        String direction = parts.length == 2 ? parts[1].trim().toLowerCase(Locale.ROOT) : SORT_DESCENDING;
+        Comparator<RepoItemDTO> order = switch (direction) {
+            case SORT_ASCENDING -> field.getComparator();
+            case SORT_DESCENDING -> field.getComparator().reversed();
+            default -> throw new IllegalArgumentException(STR."Invalid sort direction: \{parts[1].trim()}");
+        };
+        return order.thenComparingLong(RepoItemDTO::id);
+    }
+
+    /**
+     * Retrieves filtered repositories from the GitHub API without blocking the calling thread.
+     * The GitHub call is non-blocking; scoring and score persistence, which go through JPA,
+     * run on the bounded persistence scheduler.
+     *
+     * @param language            The programming language to filter repositories.
+     * @param earliestCreatedDate The earliest date when repositories were created.
+     * @param userId              The ID of the user requesting the repositories.
+     * @return A mono emitting the list of repository DTOs representing the filtered repositories.
+     */
+    public Mono<List<RepoItemDTO>> getFilteredRepositoriesReactive(String language, LocalDate earliestCreatedDate, long userId) {
+        return fetchRepositoriesReactive(language, earliestCreatedDate)
+                .flatMap(searchResponse -> Mono.fromCallable(() ->
+                                mapToRepoItemDTOs(searchResponse, createScoringContext(searchResponse, earliestCreatedDate, userId)))
+                        .subscribeOn(persistenceScheduler))
+                .defaultIfEmpty(List.of());
+    }
+
+    /**
+     * Streams filtered repositories as they are scored, without collecting them into a list first.
+     * The scores are normalized against the whole search response, so the response is fetched first; its
+     * repositories are then scored in one scoring context, recorded and emitted in chunks of {@value #STREAM_CHUNK_SIZE},
+     * so the first repositories are sent while the rest are still being scored.
+     *
+     * @param language            The programming language to filter repositories.
+     * @param earliestCreatedDate The earliest date when repositories were created.
+     * @param userId              The ID of the user requesting the repositories.
+     * @return A flux emitting the repository DTOs in GitHub's order.
+     */
+    public Flux<RepoItemDTO> streamFilteredRepositories(String language, LocalDate earliestCreatedDate, long userId) {
+        return fetchRepositoriesReactive(language, earliestCreatedDate)
+                .filter(searchResponse -> searchResponse.items() != null)
+                .flatMapMany(searchResponse -> Mono.fromCallable(() -> createScoringContext(searchResponse, earliestCreatedDate, userId))
+                        .subscribeOn(persistenceScheduler)
+                        .flatMapMany(context -> {
+                            List<RepoItem> items = searchResponse.items();
+                            return Flux.range(0, (items.size() + STREAM_CHUNK_SIZE - 1) / STREAM_CHUNK_SIZE)
+                                    .map(chunk -> items.subList(chunk * STREAM_CHUNK_SIZE, Math.min((chunk + 1) * STREAM_CHUNK_SIZE, items.size())))
+                                    .concatMap(chunk -> Mono.fromCallable(() -> mapToRepoItemDTOs(
+                                                    new SearchResponse(searchResponse.totalCount(), searchResponse.incompleteResults(), chunk), context))
+                                            .subscribeOn(persistenceScheduler))
+                                    .flatMapIterable(repoItemDTOs -> repoItemDTOs);
+                        }));
+    }
+
+    /**
+     * Refetches the repositories of a query from GitHub, bypassing the cached response, and records fresh scores for them.
+     *
+     * @param query  The normalized search query.
+     * @param userId The ID of the user whose preferences the scores are computed with.
+     * @return A mono completing once the scores have been handed to the write-behind queue.
+     */
+    public Mono<Void> refreshRepositories(SearchQuery query, long userId) {
+        return searchResponseCache.refresh(query)
+                .flatMap(searchResponse -> Mono.fromRunnable(() -> {
+                    mapToRepoItemDTOs(searchResponse, createScoringContext(searchResponse, query.earliestCreatedDate(), userId));
+                }).subscribeOn(persistenceScheduler))
+                .then();
     }
 
     /**
      * Fetches repositories from the GitHub API based on language and earliest created date.
+     * Identical queries are served from the shared search response cache.
      *
      * @param language            The programming language to filter repositories.
      * @param earliestCreatedDate The earliest date when repositories were created.
      * @return The response containing the fetched repositories.
+     * @throws RateLimitExceededException if the request was rejected to stay within the GitHub API rate limit.
      * @throws RuntimeException if there is an error while fetching repositories from GitHub API.
      */
     private SearchResponse fetchRepositories(String language, LocalDate earliestCreatedDate) {
         try {
-            return gitHubAPIClient.searchRepositories(language, earliestCreatedDate);
+            return fetchTimer.record(() -> searchResponseCache.getSearchResponse(language, earliestCreatedDate));
+        } catch (RateLimitExceededException e) {
+            throw e;
         } catch (Exception e) {
             throw new RuntimeException("Failed to fetch repositories from GitHub API", e);
         }
     }
 
     /**
-     * Maps search response items to repository DTOs with popularity scores and trends.
+     * Fetches repositories from the GitHub API without blocking the caller, recording the fetch time and the
+     * number of repositories found.
      *
-     * @param searchResponse      The search response from the GitHub API.
-     * @param maxStars            The max stars for a repository
-     * @param maxForks            The max fork for a repository
+     * @param language            The programming language to filter repositories.
      * @param earliestCreatedDate The earliest date when repositories were created.
-     * @param userId              The ID of the user requesting the repositories.
+     * @return A mono emitting the response containing the fetched repositories.
+     */
+    private Mono<SearchResponse> fetchRepositoriesReactive(String language, LocalDate earliestCreatedDate) {
+        return Mono.defer(() -> {
+                    Timer.Sample sample = Timer.start();
+                    return searchResponseCache.getSearchResponseReactive(language, earliestCreatedDate)
+                            .doFinally(signal -> sample.stop(fetchTimer));
+                })
+                .doOnNext(this::recordSearchSize)
+                .onErrorMap(e -> !(e instanceof RateLimitExceededException),
+                        e -> new RuntimeException("Failed to fetch repositories from GitHub API", e));
+    }
+
+    private void recordSearchSize(SearchResponse searchResponse) {
+        searchSize.record(searchResponse == null || searchResponse.items() == null ? 0 : searchResponse.items().size());
+    }
+
+    /**
+     * Maps search response items to repository DTOs with popularity scores and trends.
+     * Previous scores are taken from the in-memory {@link PreviousScoreIndex}, which only falls back to a single
+     * query while it is still loading, and the new scores are put into the index and handed to the
+     * {@link ScoreWriteBehindQueue}, so the search does not wait for the database to persist them.
+     *
+     * @param searchResponse The search response from the GitHub API.
+     * @param context        The scoring context of the request.
      * @return A list of repository DTOs with popularity scores and trends.
      */
-    private List<RepoItemDTO> mapToRepoItemDTOs(SearchResponse searchResponse, int maxStars, int maxForks, LocalDate earliestCreatedDate, long userId) {
-        return searchResponse.items().stream()
-                .map(item -> {
-                    Optional<RepositoryScore> previousScoreOpt = getPreviousScore(item.id());
-                    double previousScore = previousScoreOpt.map(RepositoryScore::getPopularityScore).orElse(0.0);
-                    long previousScoreId = previousScoreOpt.map(RepositoryScore::getId).orElse(0L);
-
-                    double popularityScore = scoringService.calculatePopularityScore(
-                            item.stargazersCount(),
-                            item.forksCount(),
-                            LocalDate.parse(item.updatedAt(), DATE_TIME_FORMATTER),
-                            maxStars,
-                            maxForks,
-                            earliestCreatedDate,
-                            userId
-                    );
-                    saveCurrentScore(previousScoreId, item.id(), item.name(), popularityScore);
+    private List<RepoItemDTO> mapToRepoItemDTOs(SearchResponse searchResponse, ScoringContext context) {
+        if (searchResponse == null || searchResponse.items() == null || searchResponse.items().isEmpty()) {
+            return List.of();
+        }
+
+        List<RepoItem> items = searchResponse.items();
+        double[] previousScores = previousScoresTimer.record(() -> getPreviousScores(items));
+        List<RepositoryScore> currentScores = new ArrayList<>(items.size());
+        LocalDateTime recordedAt = context.now();
+
+        double[] popularityScores = scoringTimer.record(() -> scoringService.calculatePopularityScores(items, context));
+
+        List<RepoItemDTO> repoItemDTOs = mappingTimer.record(() -> IntStream.range(0, items.size())
+                .mapToObj(index -> {
+                    RepoItem item = items.get(index);
+                    double previousScore = Double.isNaN(previousScores[index]) ? 0.0 : previousScores[index];
+
+                    double popularityScore = popularityScores[index];
+                    currentScores.add(createCurrentScore(item.id(), item.name(), popularityScore, recordedAt));
                     String trend = determineTrend(popularityScore, previousScore);
 
                     return gitHubDtoMapper.toRepoItemDTO(item, popularityScore, trend);
                 })
-                .toList();
+                .toList());
+
+        persistenceTimer.record(() -> saveCurrentScores(currentScores));
+        return repoItemDTOs;
     }
 
     /**
-     * Saves the current popularity score of a repository to the database.
+     * Fixes the scoring inputs of a request: the star and fork bounds of the whole response, today's date and
+     * the preferences of the user, so that every repository of the response is scored alike.
+     *
+     * @param searchResponse      The search response from the GitHub API.
+     * @param earliestCreatedDate The earliest date when repositories were created.
+     * @param userId              The ID of the user requesting the repositories.
+     * @return The scoring context of the request.
+     */
+    private ScoringContext createScoringContext(SearchResponse searchResponse, LocalDate earliestCreatedDate, long userId) {
+        return scoringService.createContext(findMaxStarsCount(searchResponse), findMaxForksCount(searchResponse),
+                earliestCreatedDate, userId);
+    }
+
+    /**
+     * Creates the current popularity score record of a repository.
      *
-     * @param id              The ID of the score record.
      * @param repoId          The ID of the repository.
      * @param repoName        The name of the repository.
      * @param popularityScore The popularity score of the repository.
+     * @param recordedAt      The time the score was recorded.
+     * @return The score record to persist.
      */
-    private void saveCurrentScore(Long id, int repoId, String repoName, double popularityScore) {
+    private RepositoryScore createCurrentScore(long repoId, String repoName, double popularityScore, LocalDateTime recordedAt) {
         RepositoryScore repositoryScore = new RepositoryScore();
-        repositoryScore.setId(id);
         repositoryScore.setRepoId(repoId);
         repositoryScore.setRepoName(repoName);
         repositoryScore.setPopularityScore(popularityScore);
-        repositoryScore.setRecordedAt(LocalDateTime.now());
+        repositoryScore.setRecordedAt(recordedAt);
+        return repositoryScore;
+    }
 
-        repositoryScoreRepository.save(repositoryScore);
+    /**
+     * Hands the current popularity scores of a page of repositories to the write-behind queue,
+     * which upserts them and appends them to the score history without holding up the search.
+     *
+     * @param repositoryScores The score records to persist.
+     */
+    private void saveCurrentScores(List<RepositoryScore> repositoryScores) {
+        previousScoreIndex.putAll(repositoryScores);
+        scoreWriteBehindQueue.enqueue(repositoryScores);
     }
 
     /**
@@ -132,20 +463,44 @@ public class GitHubRepositoryService {
     }
 
     /**
-     * Retrieves the previous popularity score of a repository from the database.
+     * Retrieves the previous popularity scores of a page of repositories from the in-memory score index.
+     * Until the index has loaded the stored scores, repositories missing from it are looked up in the database
+     * with a single query.
      *
-     * @param repoId The ID of the repository.
-     * @return An optional containing the previous repository score, if available.
+     * @param items The repositories of the current page.
+     * @return The previous scores in the order of the items, {@link Double#NaN} for repositories without a score.
      */
-    private Optional<RepositoryScore> getPreviousScore(int repoId) {
-        return repositoryScoreRepository.findByRepoId(repoId);
+    private double[] getPreviousScores(List<RepoItem> items) {
+        long[] repoIds = items.stream()
+                .mapToLong(RepoItem::id)
+                .toArray();
+        double[] previousScores = previousScoreIndex.getAll(repoIds);
+        if (previousScoreIndex.isWarm()) {
+            return previousScores;
+        }
+
+        Set<Long> missingRepoIds = IntStream.range(0, repoIds.length)
+                .filter(index -> Double.isNaN(previousScores[index]))
+                .mapToObj(index -> repoIds[index])
+                .collect(Collectors.toSet());
+        if (missingRepoIds.isEmpty()) {
+            return previousScores;
+        }
+        Map<Long, Double> storedScores = repositoryScoreRepository.findByRepoIdIn(missingRepoIds).stream()
+                .collect(Collectors.toMap(RepositoryScore::getRepoId, RepositoryScore::getPopularityScore, (first, second) -> first));
+        for (int index = 0; index < repoIds.length; index++) {
+            if (Double.isNaN(previousScores[index])) {
+                previousScores[index] = storedScores.getOrDefault(repoIds[index], Double.NaN);
+            }
+        }
+        return previousScores;
     }
 
     public int findMaxStarsCount(SearchResponse searchResponse) {
         if (searchResponse != null && searchResponse.items() != null && !searchResponse.items().isEmpty()) {
             return searchResponse.items().stream()
-                    .map(RepoItem::stargazersCount)
-                    .max(Integer::compareTo)
+                    .mapToInt(RepoItem::stargazersCount)
+                    .max()
                     .orElse(0);
         } else {
             return 0;
@@ -155,8 +510,8 @@ public class GitHubRepositoryService {
     public int findMaxForksCount(SearchResponse searchResponse) {
         if (searchResponse != null && searchResponse.items() != null && !searchResponse.items().isEmpty()) {
             return searchResponse.items().stream()
-                    .map(RepoItem::forksCount)
-                    .max(Integer::compareTo)
+                    .mapToInt(RepoItem::forksCount)
+                    .max()
                     .orElse(0);
         } else {
             return 0;
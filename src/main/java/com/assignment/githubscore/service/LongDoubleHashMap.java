@@ -0,0 +1,129 @@
+package com.assignment.githubscore.service;
+
+/**
+ * Open-addressing hash map from {@code long} keys to {@code double} values, stored in two parallel primitive arrays
+ * with linear probing, so an entry costs 16 bytes per slot instead of a node and two boxes.
+ * Entries are never removed. Not thread-safe.
+ */
+final class LongDoubleHashMap {
+
+    static final int BYTES_PER_SLOT = Long.BYTES + Double.BYTES;
+
+    private static final long EMPTY_KEY = 0L;
+    private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+    private static final int MIN_CAPACITY = 16;
+    private static final double MAX_LOAD_FACTOR = 0.75;
+
+    private long[] keys;
+    private double[] values;
+    private int mask;
+    private int shift;
+    private int size;
+    private int resizeThreshold;
+    // The empty-slot marker cannot be stored in the arrays, so its entry is kept aside.
+    private boolean hasZeroKey;
+    private double zeroKeyValue;
+
+    LongDoubleHashMap(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    /**
+     * Returns the number of slots needed to hold the given number of entries without resizing.
+     */
+    static int capacityFor(int expectedSize) {
+        long needed = (long) Math.ceil(Math.max(expectedSize, 1) / MAX_LOAD_FACTOR);
+        int capacity = Integer.highestOneBit((int) Math.min(needed, 1 << 30));
+        if (capacity < needed) {
+            capacity <<= 1;
+        }
+        return Math.max(capacity, MIN_CAPACITY);
+    }
+
+    double get(long key, double defaultValue) {
+        if (key == EMPTY_KEY) {
+            return hasZeroKey ? zeroKeyValue : defaultValue;
+        }
+        for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+            long slotKey = keys[slot];
+            if (slotKey == key) {
+                return values[slot];
+            }
+            if (slotKey == EMPTY_KEY) {
+                return defaultValue;
+            }
+        }
+    }
+
+    void put(long key, double value) {
+        put(key, value, true);
+    }
+
+    void putIfAbsent(long key, double value) {
+        put(key, value, false);
+    }
+
+    int size() {
+        return size + (hasZeroKey ? 1 : 0);
+    }
+
+    int capacity() {
+        return keys.length;
+    }
+
+    private void put(long key, double value, boolean replace) {
+        if (key == EMPTY_KEY) {
+            if (replace || !hasZeroKey) {
+                zeroKeyValue = value;
+                hasZeroKey = true;
+            }
+            return;
+        }
+        for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+            long slotKey = keys[slot];
+            if (slotKey == key) {
+                if (replace) {
+                    values[slot] = value;
+                }
+                return;
+            }
+            if (slotKey == EMPTY_KEY) {
+                keys[slot] = key;
+                values[slot] = value;
+                if (++size > resizeThreshold) {
+                    resize();
+                }
+                return;
+            }
+        }
+    }
+
+    private int slot(long key) {
+        return (int) ((key * HASH_MULTIPLIER) >>> shift);
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        double[] oldValues = values;
+        allocate(oldKeys.length << 1);
+        for (int i = 0; i < oldKeys.length; i++) {
+            long key = oldKeys[i];
+            if (key != EMPTY_KEY) {
+                int slot = slot(key);
+                while (keys[slot] != EMPTY_KEY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new double[capacity];
+        mask = capacity - 1;
+        shift = Long.SIZE - Integer.numberOfTrailingZeros(capacity);
+        resizeThreshold = (int) (capacity * MAX_LOAD_FACTOR);
+    }
+}
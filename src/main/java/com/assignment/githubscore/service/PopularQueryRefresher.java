@@ -0,0 +1,106 @@
+package com.assignment.githubscore.service;
+
+import com.assignment.githubscore.service.PopularQueryTracker.PopularQuery;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Refreshes the most popular search queries before their cached GitHub responses expire and records fresh scores
+ * for their repositories, so popular searches are served from the cache and their trends stay current.
+ * Refreshes only spend GitHub API permits beyond a reserve kept for user requests, never while user requests are
+ * waiting for a permit, and run with bounded concurrency.
+ */
+@Component
+public class PopularQueryRefresher {
+
+    private final PopularQueryTracker popularQueryTracker;
+    private final SearchResponseCache searchResponseCache;
+    private final GitHubRepositoryService gitHubRepositoryService;
+    private final GitHubRateLimiter gitHubRateLimiter;
+    private final int topQueries;
+    private final Duration refreshAhead;
+    private final int concurrency;
+    private final double reservedPermits;
+    private final int requestsPerQuery;
+    private final Counter refreshedQueries;
+    private final Counter deferredQueries;
+    private final Counter failedQueries;
+
+    public PopularQueryRefresher(PopularQueryTracker popularQueryTracker,
+                                 SearchResponseCache searchResponseCache,
+                                 GitHubRepositoryService gitHubRepositoryService,
+                                 GitHubRateLimiter gitHubRateLimiter,
+                                 @Value("${github.search.refresh.top-queries:10}") int topQueries,
+                                 @Value("${github.search.refresh.refresh-ahead:2m}") Duration refreshAhead,
+                                 @Value("${github.search.refresh.concurrency:2}") int concurrency,
+                                 @Value("${github.search.refresh.reserved-permits:5}") double reservedPermits,
+                                 @Value("${github.search.page-count:1}") int pageCount,
+                                 MeterRegistry meterRegistry) {
+        this.popularQueryTracker = popularQueryTracker;
+        this.searchResponseCache = searchResponseCache;
+        this.gitHubRepositoryService = gitHubRepositoryService;
+        this.gitHubRateLimiter = gitHubRateLimiter;
+        this.topQueries = topQueries;
+        this.refreshAhead = refreshAhead;
+        this.concurrency = Math.max(concurrency, 1);
+        this.reservedPermits = reservedPermits;
+        this.requestsPerQuery = Math.max(pageCount, 1);
+
+        this.refreshedQueries = Counter.builder("github.search.refresh.refreshed")
+                .description("Popular search queries refreshed ahead of their cache expiry")
+                .register(meterRegistry);
+        this.deferredQueries = Counter.builder("github.search.refresh.deferred")
+                .description("Popular search queries due for a refresh but deferred to stay within the GitHub API budget")
+                .register(meterRegistry);
+        this.failedQueries = Counter.builder("github.search.refresh.failed")
+                .description("Popular search queries whose refresh failed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Refreshes the popular queries whose cache entries are missing or expire within the refresh-ahead window,
+     * most popular first and as many as the GitHub API budget allows, then decays the popularity of all queries.
+     */
+    @Scheduled(fixedDelayString = "${github.search.refresh.interval:PT1M}", initialDelayString = "${github.search.refresh.interval:PT1M}")
+    public void refreshPopularQueries() {
+        if (topQueries <= 0) {
+            return;
+        }
+        List<PopularQuery> dueQueries = popularQueryTracker.topQueries(topQueries).stream()
+                .filter(popularQuery -> searchResponseCache.expiresWithin(popularQuery.query(), refreshAhead))
+                .toList();
+        int budget = Math.min(refreshBudget(), dueQueries.size());
+        deferredQueries.increment(dueQueries.size() - budget);
+
+        Flux.fromIterable(dueQueries.subList(0, budget))
+                .flatMap(popularQuery -> gitHubRepositoryService
+                        .refreshRepositories(popularQuery.query(), popularQuery.lastUserId())
+                        .doOnSuccess(ignored -> refreshedQueries.increment())
+                        .onErrorResume(e -> {
+                            failedQueries.increment();
+                            return Mono.empty();
+                        }), concurrency)
+                .blockLast();
+        popularQueryTracker.decay();
+    }
+
+    /**
+     * Returns how many queries may be refreshed now: none while user requests wait for a permit,
+     * otherwise as many as the permits beyond the reserve cover.
+     */
+    int refreshBudget() {
+        if (gitHubRateLimiter.getQueueDepth() > 0) {
+            return 0;
+        }
+        double sparePermits = gitHubRateLimiter.getAvailablePermits() - reservedPermits;
+        return (int) Math.max(Math.floor(sparePermits / requestsPerQuery), 0);
+    }
+}
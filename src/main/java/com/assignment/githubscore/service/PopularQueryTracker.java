@@ -0,0 +1,86 @@
+package com.assignment.githubscore.service;
+
+import com.assignment.githubscore.model.SearchQuery;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks how often each search query is requested, so the most popular ones can be refreshed ahead of their expiry.
+ * Hit counts are halved on every {@link #decay()}, which makes popularity follow recent traffic and lets one-off
+ * queries drop out. At most {@code max-tracked} queries are tracked; new queries are ignored while the limit is reached.
+ */
+@Component
+public class PopularQueryTracker {
+
+    private final int maxTrackedQueries;
+    private final ConcurrentHashMap<SearchQuery, QueryStats> queries = new ConcurrentHashMap<>();
+
+    public PopularQueryTracker(@Value("${github.search.refresh.max-tracked:1000}") int maxTrackedQueries) {
+        this.maxTrackedQueries = maxTrackedQueries;
+    }
+
+    /**
+     * Records a request for a search query.
+     *
+     * @param language            The programming language to filter repositories.
+     * @param earliestCreatedDate The earliest date when repositories were created.
+     * @param userId              The ID of the user requesting the repositories.
+     */
+    public void record(String language, LocalDate earliestCreatedDate, long userId) {
+        SearchQuery query = SearchQuery.of(language, earliestCreatedDate);
+        QueryStats stats = queries.get(query);
+        if (stats == null) {
+            if (queries.size() >= maxTrackedQueries) {
+                return;
+            }
+            stats = queries.computeIfAbsent(query, key -> new QueryStats());
+        }
+        stats.hits.incrementAndGet();
+        stats.lastUserId = userId;
+    }
+
+    /**
+     * Returns the most requested queries, most popular first.
+     *
+     * @param limit The maximum number of queries to return.
+     * @return The popular queries with their decayed hit counts.
+     */
+    public List<PopularQuery> topQueries(int limit) {
+        return queries.entrySet().stream()
+                .map(entry -> new PopularQuery(entry.getKey(), entry.getValue().hits.get(), entry.getValue().lastUserId))
+                .filter(popularQuery -> popularQuery.hits() > 0)
+                .sorted(Comparator.comparingLong(PopularQuery::hits).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Halves all hit counts and stops tracking queries that are no longer requested.
+     */
+    public void decay() {
+        queries.values().removeIf(stats -> stats.hits.updateAndGet(hits -> hits / 2) == 0);
+    }
+
+    public int size() {
+        return queries.size();
+    }
+
+    /**
+     * A tracked query with its decayed hit count and the user who requested it last,
+     * whose preferences a refresh scores with.
+     */
+    public record PopularQuery(SearchQuery query, long hits, long lastUserId) {
+    }
+
+    private static final class QueryStats {
+
+        private final AtomicLong hits = new AtomicLong();
+        private volatile long lastUserId;
+    }
+}
@@ -0,0 +1,140 @@
+package com.assignment.githubscore.service;
+
+import com.assignment.githubscore.entity.RepositoryScore;
+import com.assignment.githubscore.repository.RepositoryScoreRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory index of the latest popularity score of every repository, used to compute trends without a database query.
+ * The index is loaded from {@code repository_scores} once the application is ready and updated whenever scores are computed.
+ * Scores are kept in a primitive open-addressing map that needs 16 bytes per slot at a load factor of at most 0.75:
+ * 32 MiB for 1M repositories and 256 MiB for 10M, against roughly 84 MiB and 826 MiB for a {@code HashMap<Long, Double>}.
+ * Growing the map briefly holds the old and the new arrays, so sizing {@code expected-size} up front avoids that peak.
+ */
+@Component
+public class PreviousScoreIndex {
+
+    private static final int WARM_UP_CHUNK_SIZE = 8192;
+
+    private final RepositoryScoreRepository repositoryScoreRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final LongDoubleHashMap scores;
+    private volatile boolean warm;
+
+    public PreviousScoreIndex(RepositoryScoreRepository repositoryScoreRepository,
+                              @Value("${github.score-index.expected-size:100000}") int expectedSize,
+                              MeterRegistry meterRegistry) {
+        this.repositoryScoreRepository = repositoryScoreRepository;
+        this.scores = new LongDoubleHashMap(expectedSize);
+
+        Gauge.builder("repository.scores.index.size", this, PreviousScoreIndex::size)
+                .description("Repositories in the in-memory previous-score index")
+                .register(meterRegistry);
+        Gauge.builder("repository.scores.index.memory", this, PreviousScoreIndex::memoryBytes)
+                .description("Memory held by the slots of the in-memory previous-score index")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Loads the stored scores into the index. Scores computed while the index is loading are newer
+     * than the stored ones and are kept.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        long[] repoIds = new long[WARM_UP_CHUNK_SIZE];
+        double[] popularityScores = new double[WARM_UP_CHUNK_SIZE];
+        int[] buffered = new int[1];
+        repositoryScoreRepository.forEachScore((repoId, popularityScore) -> {
+            repoIds[buffered[0]] = repoId;
+            popularityScores[buffered[0]] = popularityScore;
+            if (++buffered[0] == WARM_UP_CHUNK_SIZE) {
+                putAbsent(repoIds, popularityScores, buffered[0]);
+                buffered[0] = 0;
+            }
+        });
+        putAbsent(repoIds, popularityScores, buffered[0]);
+        warm = true;
+    }
+
+    /**
+     * Whether the stored scores have been loaded. Until they are, a repository missing from the index
+     * may still have a stored score.
+     */
+    public boolean isWarm() {
+        return warm;
+    }
+
+    /**
+     * Looks up the latest scores of the given repositories.
+     *
+     * @param repoIds The IDs of the repositories.
+     * @return The scores in the order of the IDs, {@link Double#NaN} for repositories without a score.
+     */
+    public double[] getAll(long[] repoIds) {
+        double[] popularityScores = new double[repoIds.length];
+        lock.readLock().lock();
+        try {
+            for (int i = 0; i < repoIds.length; i++) {
+                popularityScores[i] = scores.get(repoIds[i], Double.NaN);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return popularityScores;
+    }
+
+    /**
+     * Records the latest scores of repositories.
+     *
+     * @param repositoryScores The scores to record.
+     */
+    public void putAll(List<RepositoryScore> repositoryScores) {
+        lock.writeLock().lock();
+        try {
+            for (RepositoryScore repositoryScore : repositoryScores) {
+                scores.put(repositoryScore.getRepoId(), repositoryScore.getPopularityScore());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return scores.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private long memoryBytes() {
+        lock.readLock().lock();
+        try {
+            return (long) scores.capacity() * LongDoubleHashMap.BYTES_PER_SLOT;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void putAbsent(long[] repoIds, double[] popularityScores, int count) {
+        lock.writeLock().lock();
+        try {
+            for (int i = 0; i < count; i++) {
+                scores.putIfAbsent(repoIds[i], popularityScores[i]);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
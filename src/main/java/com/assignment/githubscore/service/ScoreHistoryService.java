@@ -0,0 +1,161 @@
+package com.assignment.githubscore.service;
+
+import com.assignment.githubscore.dto.ScoreHistoryPointDTO;
+import com.assignment.githubscore.entity.RepositoryScore;
+import com.assignment.githubscore.exception.IllegalArgumentException;
+import com.assignment.githubscore.repository.ScoreHistoryRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Service class for the popularity score history of repositories.
+ * Every recorded score is appended to a day-partitioned history table. Raw scores are kept for the raw retention period,
+ * after which the maintenance job downsamples each expired day into daily aggregates and drops its partition;
+ * daily aggregates are kept for the rollup retention period.
+ */
+@Service
+public class ScoreHistoryService {
+
+    private static final Logger log = LoggerFactory.getLogger(ScoreHistoryService.class);
+
+    private final ScoreHistoryRepository scoreHistoryRepository;
+    private final Duration rawRetention;
+    private final Duration rollupRetention;
+    private final int partitionsAhead;
+    private final int maxPoints;
+    private final Clock clock;
+    private final Counter failedPartitions;
+
+    public ScoreHistoryService(ScoreHistoryRepository scoreHistoryRepository,
+                               @Value("${github.score-history.raw-retention:30d}") Duration rawRetention,
+                               @Value("${github.score-history.rollup-retention:730d}") Duration rollupRetention,
+                               @Value("${github.score-history.partitions-ahead:7}") int partitionsAhead,
+                               @Value("${github.score-history.max-points:10000}") int maxPoints,
+                               Clock clock,
+                               MeterRegistry meterRegistry) {
+        this.scoreHistoryRepository = scoreHistoryRepository;
+        this.rawRetention = rawRetention;
+        this.rollupRetention = rollupRetention;
+        this.partitionsAhead = Math.max(partitionsAhead, 1);
+        this.maxPoints = Math.max(maxPoints, 1);
+        this.clock = clock;
+        this.failedPartitions = Counter.builder("repository.scores.history.partition.failures")
+                .description("Score history partitions that could not be created")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Appends scores to the history.
+     *
+     * @param repositoryScores The scores to append.
+     */
+    public void recordScores(List<RepositoryScore> repositoryScores) {
+        if (!repositoryScores.isEmpty()) {
+            scoreHistoryRepository.appendAll(repositoryScores);
+        }
+    }
+
+    /**
+     * Retrieves the score series of a repository within a time window, newest first.
+     * Scores still within the raw retention period are returned individually, older ones as daily aggregates.
+     *
+     * @param repoId The ID of the repository.
+     * @param from   The start of the window, inclusive.
+     * @param to     The end of the window, exclusive.
+     * @param limit  The maximum number of points to return, capped by the configured maximum.
+     * @return The score series, newest first.
+     * @throws IllegalArgumentException if the window is empty or the limit is not positive.
+     */
+    public List<ScoreHistoryPointDTO> getScoreHistory(long repoId, LocalDateTime from, LocalDateTime to, int limit) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("The start of the window must be before its end");
+        }
+        if (limit <= 0) {
+            throw new IllegalArgumentException("The limit must be positive");
+        }
+        int pointLimit = Math.min(limit, maxPoints);
+        List<ScoreHistoryPointDTO> rawPoints = scoreHistoryRepository.findRawSeries(repoId, from, to, pointLimit);
+        if (rawPoints.size() == pointLimit) {
+            return rawPoints;
+        }
+        // Daily aggregates only exist for days whose raw scores were already dropped, so they are older than every raw point.
+        LocalDate endDay = to.toLocalTime().equals(LocalTime.MIDNIGHT) ? to.toLocalDate() : to.toLocalDate().plusDays(1);
+        List<ScoreHistoryPointDTO> dailyPoints = scoreHistoryRepository.findDailySeries(
+                repoId, from.toLocalDate(), endDay, pointLimit - rawPoints.size());
+        List<ScoreHistoryPointDTO> points = new ArrayList<>(rawPoints.size() + dailyPoints.size());
+        points.addAll(rawPoints);
+        points.addAll(dailyPoints);
+        return points;
+    }
+
+    /**
+     * Creates the history partitions of today and the configured number of days ahead, so scores never fall into
+     * the default partition. Runs at startup and as part of the daily maintenance.
+     * A day whose partition cannot be created does not stop the other days; its scores keep landing in the
+     * default partition until a later run creates the partition and moves them over.
+     *
+     * @throws DataAccessException if no partition could be created at all.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void createUpcomingPartitions() {
+        LocalDate today = LocalDate.now(clock);
+        DataAccessException failure = null;
+        int failedDays = 0;
+        for (int day = 0; day <= partitionsAhead; day++) {
+            LocalDate partitionDay = today.plusDays(day);
+            try {
+                scoreHistoryRepository.createPartition(partitionDay);
+            } catch (DataAccessException e) {
+                failedPartitions.increment();
+                log.warn("Could not create the score history partition of {}", partitionDay, e);
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+                failedDays++;
+            }
+        }
+        if (failedDays > partitionsAhead) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Daily maintenance of the score history: creates upcoming partitions, downsamples raw scores older than
+     * the raw retention period into daily aggregates, and deletes aggregates older than the rollup retention period.
+     */
+    @Scheduled(cron = "${github.score-history.maintenance-cron:0 15 3 * * *}")
+    public void maintainHistory() {
+        createUpcomingPartitions();
+
+        LocalDate today = LocalDate.now(clock);
+        LocalDate firstRawDay = today.minusDays(rawRetention.toDays());
+        List<LocalDate> expiredDays = scoreHistoryRepository.findPartitionDays().stream()
+                .filter(day -> day.isBefore(firstRawDay))
+                .sorted()
+                .toList();
+        for (LocalDate day : expiredDays) {
+            scoreHistoryRepository.rollUpAndDropPartition(day);
+        }
+        scoreHistoryRepository.rollUpAndDeleteDefaultPartition(firstRawDay.atStartOfDay());
+
+        scoreHistoryRepository.deleteDailyBefore(today.minusDays(rollupRetention.toDays()));
+    }
+}
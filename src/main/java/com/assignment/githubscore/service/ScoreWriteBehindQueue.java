@@ -0,0 +1,227 @@
+package com.assignment.githubscore.service;
+
+import com.assignment.githubscore.entity.RepositoryScore;
+import com.assignment.githubscore.repository.RepositoryScoreRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded write-behind queue for the current scores of repositories.
+ * Searches hand their scores over and return without waiting for the database. A background flusher writes them
+ * once a batch is full or the flush interval has passed: every score is appended to the score history, and the scores
+ * of a batch are coalesced by repository, keeping the most recently recorded one, before they are upserted.
+ * Both writes of a batch share one transaction, so the current scores never disagree with the history.
+ * When the queue is full the enqueuing thread writes one batch itself, which slows searches down to the speed of the database.
+ * Pending scores are flushed when the application shuts down.
+ */
+@Component
+public class ScoreWriteBehindQueue {
+
+    private static final Logger log = LoggerFactory.getLogger(ScoreWriteBehindQueue.class);
+    private static final String FLUSHER_THREAD_NAME = "score-write-behind";
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(30);
+
+    private final RepositoryScoreRepository repositoryScoreRepository;
+    private final ScoreHistoryService scoreHistoryService;
+    private final TransactionOperations transactionOperations;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final int maxPending;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition batchReady = lock.newCondition();
+    private final List<RepositoryScore> pending = new ArrayList<>();
+    private final Thread flusher = Thread.ofPlatform().name(FLUSHER_THREAD_NAME).daemon().unstarted(this::runFlusher);
+    private final Timer flushTimer;
+    private final Counter coalescedScores;
+    private final Counter callerRunsFlushes;
+    private final Counter failedScores;
+    private volatile boolean running;
+
+    public ScoreWriteBehindQueue(RepositoryScoreRepository repositoryScoreRepository,
+                                 ScoreHistoryService scoreHistoryService,
+                                 TransactionOperations transactionOperations,
+                                 @Value("${github.score-write-behind.batch-size:500}") int batchSize,
+                                 @Value("${github.score-write-behind.flush-interval:1s}") Duration flushInterval,
+                                 @Value("${github.score-write-behind.max-pending:10000}") int maxPending,
+                                 MeterRegistry meterRegistry) {
+        this.repositoryScoreRepository = repositoryScoreRepository;
+        this.scoreHistoryService = scoreHistoryService;
+        this.transactionOperations = transactionOperations;
+        this.batchSize = Math.max(batchSize, 1);
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.maxPending = Math.max(maxPending, this.batchSize);
+
+        Gauge.builder("repository.scores.writebehind.queue.depth", this, ScoreWriteBehindQueue::getQueueDepth)
+                .description("Repository scores waiting to be written")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("repository.scores.writebehind.flush")
+                .description("Time taken to write a batch of repository scores")
+                .register(meterRegistry);
+        this.coalescedScores = Counter.builder("repository.scores.writebehind.coalesced")
+                .description("Repository scores not upserted because a newer score of the same repository was in their batch")
+                .register(meterRegistry);
+        this.callerRunsFlushes = Counter.builder("repository.scores.writebehind.caller.runs")
+                .description("Flushes run by a search because the write-behind queue was full")
+                .register(meterRegistry);
+        this.failedScores = Counter.builder("repository.scores.writebehind.failed")
+                .description("Repository scores dropped because their batch could not be written")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        flusher.start();
+    }
+
+    /**
+     * Stops the flusher and writes all pending scores on the calling thread.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        lock.lock();
+        try {
+            running = false;
+            batchReady.signal();
+        } finally {
+            lock.unlock();
+        }
+        if (flusher.isAlive()) {
+            flusher.join(SHUTDOWN_TIMEOUT);
+        }
+        flush(drain(Integer.MAX_VALUE));
+    }
+
+    /**
+     * Queues the current scores of repositories for writing.
+     * When the queue is full, the oldest batch of pending scores is written on the calling thread before it returns
+     * and the rest is left to the flusher. When the flusher is not running, all pending scores are written on the
+     * calling thread.
+     *
+     * @param repositoryScores The scores to queue.
+     */
+    public void enqueue(List<RepositoryScore> repositoryScores) {
+        List<RepositoryScore> overflow = null;
+        boolean full = false;
+        lock.lock();
+        try {
+            pending.addAll(repositoryScores);
+            full = pending.size() >= maxPending;
+            if (!running) {
+                overflow = drain(Integer.MAX_VALUE);
+            } else if (full) {
+                overflow = drain(batchSize);
+            }
+            if (running && pending.size() >= batchSize) {
+                batchReady.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (overflow != null) {
+            if (full) {
+                callerRunsFlushes.increment();
+            }
+            flush(overflow);
+        }
+    }
+
+    public int getQueueDepth() {
+        lock.lock();
+        try {
+            return pending.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void runFlusher() {
+        while (running) {
+            List<RepositoryScore> batch;
+            lock.lock();
+            try {
+                long remainingNanos = flushIntervalNanos;
+                while (running && pending.size() < batchSize && remainingNanos > 0) {
+                    remainingNanos = batchReady.awaitNanos(remainingNanos);
+                }
+                batch = drain(Integer.MAX_VALUE);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                lock.unlock();
+            }
+            flush(batch);
+        }
+    }
+
+    private List<RepositoryScore> drain(int maxScores) {
+        lock.lock();
+        try {
+            List<RepositoryScore> drainedScores = pending.subList(0, Math.min(maxScores, pending.size()));
+            List<RepositoryScore> drained = new ArrayList<>(drainedScores);
+            drainedScores.clear();
+            return drained;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Writes scores in batches of the configured size, each in one transaction. A batch that fails is rolled back
+     * and dropped rather than retried, since the next search for the same repositories records their scores again.
+     */
+    private void flush(List<RepositoryScore> repositoryScores) {
+        for (int from = 0; from < repositoryScores.size(); from += batchSize) {
+            List<RepositoryScore> batch = repositoryScores.subList(from, Math.min(from + batchSize, repositoryScores.size()));
+            List<RepositoryScore> latestScores = coalesce(batch);
+            long start = System.nanoTime();
+            try {
+                transactionOperations.executeWithoutResult(status -> {
+                    repositoryScoreRepository.upsertAll(latestScores);
+                    scoreHistoryService.recordScores(batch);
+                });
+            } catch (RuntimeException e) {
+                failedScores.increment(batch.size());
+                log.error("Dropped a batch of {} repository scores that could not be written", batch.size(), e);
+            } finally {
+                flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    /**
+     * Keeps the most recently recorded score of every repository in a batch, in the order the repositories first appear.
+     */
+    private List<RepositoryScore> coalesce(List<RepositoryScore> batch) {
+        Map<Long, RepositoryScore> latestScores = new LinkedHashMap<>();
+        for (RepositoryScore repositoryScore : batch) {
+            RepositoryScore replaced = latestScores.putIfAbsent(repositoryScore.getRepoId(), repositoryScore);
+            if (replaced != null) {
+                coalescedScores.increment();
+                if (!repositoryScore.getRecordedAt().isBefore(replaced.getRecordedAt())) {
+                    latestScores.put(repositoryScore.getRepoId(), repositoryScore);
+                }
+            }
+        }
+        return List.copyOf(latestScores.values());
+    }
+}
@@ -0,0 +1,58 @@
+package com.assignment.githubscore.service;
+
+import com.assignment.githubscore.dto.UserPreferencesDTO;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Everything the popularity score of a repository depends on besides the repository itself, fixed once per request
+ * by {@link ScoringService#createContext}: the time of the request, the day recency is measured against, the length
+ * of the recency window, the star and fork bounds, and the resolved weights. Every repository of a request is scored
+ * against the same day, even when the request straddles midnight, and its scores are recorded at the same time.
+ *
+ * @param now                 the time of the request, which scores are recorded at
+ * @param today               the day recency is measured against, the date of {@code now}
+ * @param earliestCreatedDate the earliest date when repositories were created
+ * @param totalDuration       the number of days between {@code earliestCreatedDate} and {@code today}
+ * @param maxStars            the max stars for a repository
+ * @param maxForks            the max forks for a repository
+ * @param userPreferences     the weights of the factors
+ */
+public record ScoringContext(
+        LocalDateTime now,
+        LocalDate today,
+        LocalDate earliestCreatedDate,
+        long totalDuration,
+        int maxStars,
+        int maxForks,
+        UserPreferencesDTO userPreferences
+) {
+
+    public static ScoringContext of(LocalDateTime now, LocalDate earliestCreatedDate, int maxStars, int maxForks,
+                                    UserPreferencesDTO userPreferences) {
+        LocalDate today = now.toLocalDate();
+        return new ScoringContext(now, today, earliestCreatedDate, ChronoUnit.DAYS.between(earliestCreatedDate, today),
+                maxStars, maxForks, userPreferences);
+    }
+
+    public double normalizeStars(int stars) {
+        return stars / (double) maxStars;
+    }
+
+    public double normalizeForks(int forks) {
+        return forks / (double) maxForks;
+    }
+
+    /**
+     * Normalizes the time since the last update to a value between 0 and 1, where 1 is an update today.
+     */
+    public double normalizeRecency(LocalDate updatedAt) {
+        if (totalDuration == 0) {
+            return 1.0;
+        }
+        double recency = ChronoUnit.DAYS.between(updatedAt, today);
+        return 1 - (recency / totalDuration);
+    }
+}
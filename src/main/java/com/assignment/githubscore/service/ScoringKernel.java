@@ -0,0 +1,137 @@
+package com.assignment.githubscore.service;
+
+/**
+ * Batch form of the popularity score formula of {@link ScoringService}, working on columnar primitive arrays.
+ * A page is scored without boxing, without date objects and without allocating anything but the result array,
+ * and every score is bit-for-bit identical to the one the per-item formula produces for the same inputs.
+ * Dates are given as epoch days, so the recency of a repository is a plain subtraction.
+ */
+public final class ScoringKernel {
+
+    private static final int ROUNDING_FACTOR = 100;
+
+    private ScoringKernel() {
+    }
+
+    /**
+     * Scores a page of repositories, taking the star and fork bounds from the page itself.
+     *
+     * @param stars                   the number of stars per repository
+     * @param forks                   the number of forks per repository
+     * @param updatedEpochDays        the epoch day of the last update per repository
+     * @param earliestCreatedEpochDay the epoch day of the earliest creation date of the search
+     * @param todayEpochDay           the epoch day the recency is measured against
+     * @param starsWeight             the weight of the normalized stars
+     * @param forksWeight             the weight of the normalized forks
+     * @param recencyWeight           the weight of the normalized recency
+     * @return the popularity scores, in the order of the input arrays
+     */
+    public static double[] score(int[] stars, int[] forks, long[] updatedEpochDays,
+                                 long earliestCreatedEpochDay, long todayEpochDay,
+                                 double starsWeight, double forksWeight, double recencyWeight) {
+        requireSameLength(stars, forks, updatedEpochDays);
+        int maxStars = 0;
+        int maxForks = 0;
+        for (int i = 0; i < stars.length; i++) {
+            maxStars = Math.max(maxStars, stars[i]);
+            maxForks = Math.max(maxForks, forks[i]);
+        }
+        return score(stars, forks, updatedEpochDays, maxStars, maxForks, earliestCreatedEpochDay, todayEpochDay,
+                starsWeight, forksWeight, recencyWeight);
+    }
+
+    /**
+     * Scores a page of repositories against given star and fork bounds.
+     *
+     * @param stars                   the number of stars per repository
+     * @param forks                   the number of forks per repository
+     * @param updatedEpochDays        the epoch day of the last update per repository
+     * @param maxStars                the max stars for a repository
+     * @param maxForks                the max forks for a repository
+     * @param earliestCreatedEpochDay the epoch day of the earliest creation date of the search
+     * @param todayEpochDay           the epoch day the recency is measured against
+     * @param starsWeight             the weight of the normalized stars
+     * @param forksWeight             the weight of the normalized forks
+     * @param recencyWeight           the weight of the normalized recency
+     * @return the popularity scores, in the order of the input arrays
+     */
+    public static double[] score(int[] stars, int[] forks, long[] updatedEpochDays, int maxStars, int maxForks,
+                                 long earliestCreatedEpochDay, long todayEpochDay,
+                                 double starsWeight, double forksWeight, double recencyWeight) {
+        requireSameLength(stars, forks, updatedEpochDays);
+        double maxStarsValue = maxStars;
+        double maxForksValue = maxForks;
+        long totalDuration = todayEpochDay - earliestCreatedEpochDay;
+        double[] scores = new double[stars.length];
+        for (int i = 0; i < scores.length; i++) {
+            double normalizedRecency = totalDuration == 0
+                    ? 1.0
+                    : 1 - ((double) (todayEpochDay - updatedEpochDays[i]) / totalDuration);
+            double score = (stars[i] / maxStarsValue) * starsWeight
+                    + (forks[i] / maxForksValue) * forksWeight
+                    + normalizedRecency * recencyWeight;
+            scores[i] = Math.round(score * ROUNDING_FACTOR) / (double) ROUNDING_FACTOR;
+        }
+        return scores;
+    }
+
+    /**
+     * Scores a page of repositories for several weight profiles at once. The stars, forks and recency are normalized
+     * once into three columns, and the scores are the product of that N x 3 matrix with the 3 x P matrix of weights.
+     * Every score is identical to the one {@link #score} yields for the same profile.
+     *
+     * @param stars                   the number of stars per repository
+     * @param forks                   the number of forks per repository
+     * @param updatedEpochDays        the epoch day of the last update per repository
+     * @param maxStars                the max stars for a repository
+     * @param maxForks                the max forks for a repository
+     * @param earliestCreatedEpochDay the epoch day of the earliest creation date of the search
+     * @param todayEpochDay           the epoch day the recency is measured against
+     * @param starsWeights            the weight of the normalized stars per profile
+     * @param forksWeights            the weight of the normalized forks per profile
+     * @param recencyWeights          the weight of the normalized recency per profile
+     * @return the popularity scores per profile, each in the order of the input arrays
+     */
+    public static double[][] scoreProfiles(int[] stars, int[] forks, long[] updatedEpochDays, int maxStars, int maxForks,
+                                           long earliestCreatedEpochDay, long todayEpochDay,
+                                           double[] starsWeights, double[] forksWeights, double[] recencyWeights) {
+        requireSameLength(stars, forks, updatedEpochDays);
+        if (starsWeights.length != forksWeights.length || starsWeights.length != recencyWeights.length) {
+            throw new IllegalArgumentException("Weight columns must have the same length");
+        }
+        double maxStarsValue = maxStars;
+        double maxForksValue = maxForks;
+        long totalDuration = todayEpochDay - earliestCreatedEpochDay;
+        double[] normalizedStars = new double[stars.length];
+        double[] normalizedForks = new double[stars.length];
+        double[] normalizedRecency = new double[stars.length];
+        for (int i = 0; i < stars.length; i++) {
+            normalizedStars[i] = stars[i] / maxStarsValue;
+            normalizedForks[i] = forks[i] / maxForksValue;
+            normalizedRecency[i] = totalDuration == 0
+                    ? 1.0
+                    : 1 - ((double) (todayEpochDay - updatedEpochDays[i]) / totalDuration);
+        }
+
+        double[][] scores = new double[starsWeights.length][stars.length];
+        for (int profile = 0; profile < scores.length; profile++) {
+            double starsWeight = starsWeights[profile];
+            double forksWeight = forksWeights[profile];
+            double recencyWeight = recencyWeights[profile];
+            double[] profileScores = scores[profile];
+            for (int i = 0; i < profileScores.length; i++) {
+                double score = normalizedStars[i] * starsWeight
+                        + normalizedForks[i] * forksWeight
+                        + normalizedRecency[i] * recencyWeight;
+                profileScores[i] = Math.round(score * ROUNDING_FACTOR) / (double) ROUNDING_FACTOR;
+            }
+        }
+        return scores;
+    }
+
+    private static void requireSameLength(int[] stars, int[] forks, long[] updatedEpochDays) {
+        if (stars.length != forks.length || stars.length != updatedEpochDays.length) {
+            throw new IllegalArgumentException("Score columns must have the same length");
+        }
+    }
+}
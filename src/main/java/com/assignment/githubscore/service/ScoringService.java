@@ -1,11 +1,19 @@
 package com.assignment.githubscore.service;
 
+import com.assignment.githubscore.dto.RepositoryMetricsDTO;
 import com.assignment.githubscore.dto.ScoreBreakdownDTO;
 import com.assignment.githubscore.dto.UserPreferencesDTO;
+import com.assignment.githubscore.dto.WeightProfileDTO;
+import com.assignment.githubscore.exception.IllegalArgumentException;
+import com.assignment.githubscore.model.RepoItem;
 import org.springframework.stereotype.Service;
 
+import java.time.Clock;
 import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Service class for calculating GitHub repository popularity scores.
@@ -13,12 +21,58 @@ import java.time.temporal.ChronoUnit;
 @Service
 public class ScoringService {
 
-    private final UserPreferenceService userPreferenceService;
+    public static final int MAX_BREAKDOWN_BATCH_SIZE = 1000;
 
     private static final int ROUNDING_FACTOR = 100;
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ISO_DATE_TIME;
+
+    private final UserPreferenceService userPreferenceService;
+    private final Clock clock;
 
-    public ScoringService(UserPreferenceService userPreferenceService) {
+    public ScoringService(UserPreferenceService userPreferenceService, Clock clock) {
         this.userPreferenceService = userPreferenceService;
+        this.clock = clock;
+    }
+
+    /**
+     * Fixes the inputs shared by every repository of a request: the current time from the clock, the normalization bounds
+     * and the preferences of the user. The context is meant to be built once per request and passed to every scoring call.
+     *
+     * @param maxStars            the max stars for a repository
+     * @param maxForks            the max fork for a repository
+     * @param earliestCreatedDate the earliest date when repositories were created.
+     * @param userId              the ID of the user for whom the scores are calculated
+     * @return the scoring context of the request
+     */
+    public ScoringContext createContext(int maxStars, int maxForks, LocalDate earliestCreatedDate, long userId) {
+        return createContext(maxStars, maxForks, earliestCreatedDate, resolveUserPreferences(userId));
+    }
+
+    /**
+     * Fixes the inputs shared by every repository of a request, using already resolved user preferences.
+     *
+     * @param maxStars            the max stars for a repository
+     * @param maxForks            the max fork for a repository
+     * @param earliestCreatedDate the earliest date when repositories were created.
+     * @param userPreferences     the resolved preferences used to weight the factors
+     * @return the scoring context of the request
+     */
+    public ScoringContext createContext(int maxStars, int maxForks, LocalDate earliestCreatedDate, UserPreferencesDTO userPreferences) {
+        return ScoringContext.of(LocalDateTime.now(clock), earliestCreatedDate, maxStars, maxForks, userPreferences);
+    }
+
+    /**
+     * Fixes the inputs shared by every repository of a request that is scored with explicit weight profiles
+     * instead of the preferences of a user. The context carries no user preferences.
+     *
+     * @param maxStars            the max stars for a repository
+     * @param maxForks            the max fork for a repository
+     * @param earliestCreatedDate the earliest date when repositories were created.
+     * @return the scoring context of the request
+     * @see #calculateProfileScores
+     */
+    public ScoringContext createContext(int maxStars, int maxForks, LocalDate earliestCreatedDate) {
+        return createContext(maxStars, maxForks, earliestCreatedDate, (UserPreferencesDTO) null);
     }
 
     /**
@@ -34,13 +88,88 @@ public class ScoringService {
      * @return the popularity score of the repository
      */
     public double calculatePopularityScore(int stars, int forks, LocalDate updatedAt, int maxStars, int maxForks, LocalDate earliestCreatedDate, long userId) {
-        UserPreferencesDTO userPreferences = getUserPreferences(userId);
-        long recency = calculateRecency(updatedAt);
-        double normalizeStars = normalizeStars(stars, maxStars);
-        double normalizeForks = normalizeForks(forks, maxForks);
-        double normalizeRecency = normalizeRecency(recency, earliestCreatedDate);
+        return calculatePopularityScore(stars, forks, updatedAt, maxStars, maxForks, earliestCreatedDate, resolveUserPreferences(userId));
+    }
+
+    /**
+     * Calculates the popularity score of a repository using already resolved user preferences.
+     * This method does not access any other service and only depends on its arguments.
+     *
+     * @param stars               the number of stars for the repository
+     * @param forks               the number of forks for the repository
+     * @param updatedAt           the date and time when the repository was last updated
+     * @param maxStars            the max stars for a repository
+     * @param maxForks            the max fork for a repository
+     * @param earliestCreatedDate the earliest date when repositories were created.
+     * @param userPreferences     the resolved preferences used to weight the factors
+     * @return the popularity score of the repository
+     */
+    public double calculatePopularityScore(int stars, int forks, LocalDate updatedAt, int maxStars, int maxForks, LocalDate earliestCreatedDate, UserPreferencesDTO userPreferences) {
+        return calculatePopularityScore(stars, forks, updatedAt, createContext(maxStars, maxForks, earliestCreatedDate, userPreferences));
+    }
+
+    /**
+     * Calculates the popularity score of a repository within the scoring context of a request.
+     *
+     * @param stars     the number of stars for the repository
+     * @param forks     the number of forks for the repository
+     * @param updatedAt the date when the repository was last updated
+     * @param context   the scoring context of the request
+     * @return the popularity score of the repository
+     */
+    public double calculatePopularityScore(int stars, int forks, LocalDate updatedAt, ScoringContext context) {
+        return calculateScore(context.normalizeStars(stars), context.normalizeForks(forks), context.normalizeRecency(updatedAt),
+                context.userPreferences());
+    }
+
+    /**
+     * Calculates the popularity scores of a list of repositories, resolving the user preferences only once.
+     * The repositories are turned into primitive columns and scored by the {@link ScoringKernel},
+     * which yields the same scores as {@link #calculatePopularityScore} without per-item date arithmetic.
+     *
+     * @param items               the repositories to score
+     * @param maxStars            the max stars for a repository
+     * @param maxForks            the max fork for a repository
+     * @param earliestCreatedDate the earliest date when repositories were created.
+     * @param userId              the ID of the user for whom the scores are calculated
+     * @return the popularity scores, in the same order as {@code items}
+     */
+    public double[] calculatePopularityScores(List<RepoItem> items, int maxStars, int maxForks, LocalDate earliestCreatedDate, long userId) {
+        return calculatePopularityScores(items, createContext(maxStars, maxForks, earliestCreatedDate, userId));
+    }
 
-        return calculateScore(normalizeStars, normalizeForks, normalizeRecency, userPreferences);
+    /**
+     * Calculates the popularity scores of a list of repositories within the scoring context of a request.
+     *
+     * @param items   the repositories to score
+     * @param context the scoring context of the request
+     * @return the popularity scores, in the same order as {@code items}
+     */
+    public double[] calculatePopularityScores(List<RepoItem> items, ScoringContext context) {
+        UserPreferencesDTO userPreferences = context.userPreferences();
+        ScoreColumns columns = ScoreColumns.of(items);
+        return ScoringKernel.score(columns.stars(), columns.forks(), columns.updatedEpochDays(), context.maxStars(), context.maxForks(),
+                context.earliestCreatedDate().toEpochDay(), context.today().toEpochDay(),
+                userPreferences.starsWeight(), userPreferences.forksWeight(), userPreferences.recencyWeight());
+    }
+
+    /**
+     * Calculates the popularity scores of a list of repositories for several weight profiles.
+     * The repositories are turned into columns and normalized once, and all profiles are scored together
+     * by {@link ScoringKernel#scoreProfiles}. The weights of the context are not used.
+     *
+     * @param items    the repositories to score
+     * @param context  the scoring context of the request
+     * @param profiles the weight profiles to score with
+     * @return the popularity scores per profile, each in the same order as {@code items}
+     */
+    public double[][] calculateProfileScores(List<RepoItem> items, ScoringContext context, List<WeightProfileDTO> profiles) {
+        ScoreColumns columns = ScoreColumns.of(items);
+        return ScoringKernel.scoreProfiles(columns.stars(), columns.forks(), columns.updatedEpochDays(), context.maxStars(),
+                context.maxForks(), context.earliestCreatedDate().toEpochDay(), context.today().toEpochDay(),
+                profiles.stream().mapToDouble(WeightProfileDTO::starsWeight).toArray(),
+                profiles.stream().mapToDouble(WeightProfileDTO::forksWeight).toArray(),
+                profiles.stream().mapToDouble(WeightProfileDTO::recencyWeight).toArray());
     }
 
     /**
@@ -56,13 +185,59 @@ public class ScoringService {
             int stars, int forks, int maxStars, int maxForks,
             LocalDate earliestCreatedDate,
             LocalDate updatedAt, long userId) {
-        UserPreferencesDTO userPreferences = getUserPreferences(userId);
-        long recency = calculateRecency(updatedAt);
-        double normalizeStars = normalizeStars(stars, maxStars);
-        double normalizeForks = normalizeForks(forks, maxForks);
-        double normalizeRecency = normalizeRecency(recency, earliestCreatedDate);
+        return calculatePopularityScoreWithBreakdown(stars, forks, updatedAt,
+                createContext(maxStars, maxForks, earliestCreatedDate, userId));
+    }
 
-        return calculateScoreWithBreakdown(normalizeStars, normalizeForks, normalizeRecency, userPreferences);
+    /**
+     * Calculates the popularity score of a repository with a breakdown of individual factors within the scoring context of a request.
+     *
+     * @param stars     the number of stars for the repository
+     * @param forks     the number of forks for the repository
+     * @param updatedAt the date when the repository was last updated
+     * @param context   the scoring context of the request
+     * @return the breakdown of the popularity score
+     */
+    public ScoreBreakdownDTO calculatePopularityScoreWithBreakdown(int stars, int forks, LocalDate updatedAt, ScoringContext context) {
+        return calculateScoreWithBreakdown(context.normalizeStars(stars), context.normalizeForks(forks),
+                context.normalizeRecency(updatedAt), context.userPreferences());
+    }
+
+    /**
+     * Calculates the popularity scores of several repositories with a breakdown of individual factors in one pass.
+     * The user preferences are resolved and the recency window is measured once for the whole batch, in one scoring context,
+     * and every breakdown equals the one {@link #calculatePopularityScoreWithBreakdown} returns for the same repository.
+     *
+     * @param repositories        the repositories to score, at most {@value #MAX_BREAKDOWN_BATCH_SIZE}
+     * @param maxStars            the max stars for a repository
+     * @param maxForks            the max fork for a repository
+     * @param earliestCreatedDate the earliest date when repositories were created.
+     * @param userId              the ID of the user for whom the scores are calculated
+     * @return the breakdowns of the popularity scores, in the same order as {@code repositories}
+     * @throws IllegalArgumentException if there are too many repositories or a date is missing
+     */
+    public List<ScoreBreakdownDTO> calculatePopularityScoreBreakdowns(
+            List<RepositoryMetricsDTO> repositories, int maxStars, int maxForks,
+            LocalDate earliestCreatedDate, long userId) {
+        if (repositories == null || repositories.isEmpty()) {
+            return List.of();
+        }
+        if (repositories.size() > MAX_BREAKDOWN_BATCH_SIZE) {
+            throw new IllegalArgumentException(STR."At most \{MAX_BREAKDOWN_BATCH_SIZE} repositories can be scored per request");
+        }
+        if (earliestCreatedDate == null) {
+            throw new IllegalArgumentException("The earliest created date is required");
+        }
+        ScoringContext context = createContext(maxStars, maxForks, earliestCreatedDate, userId);
+
+        List<ScoreBreakdownDTO> breakdowns = new ArrayList<>(repositories.size());
+        for (RepositoryMetricsDTO repository : repositories) {
+            if (repository == null || repository.updatedAt() == null) {
+                throw new IllegalArgumentException("Every repository requires an updatedAt date");
+            }
+            breakdowns.add(calculatePopularityScoreWithBreakdown(repository.stars(), repository.forks(), repository.updatedAt(), context));
+        }
+        return breakdowns;
     }
 
     /**
@@ -104,33 +279,32 @@ public class ScoringService {
         return Math.round(value * ROUNDING_FACTOR) / (double) ROUNDING_FACTOR;
     }
 
-    private long calculateRecency(LocalDate updatedAt) {
-        return ChronoUnit.DAYS.between(updatedAt, LocalDate.now());
-    }
-
-    public double normalizeStars(int stars, int maxStars) {
-        return stars / (double) maxStars;
-    }
-
-    public double normalizeForks(int forks, int maxForks) {
-        return forks / (double) maxForks;
-    }
-
-    public double normalizeRecency(double recency, LocalDate earliestCreatedDate) {
-        long totalDuration = calculateTotalDuration(earliestCreatedDate);
+    /**
+     * The scoring inputs of a list of repositories as primitive columns.
+     */
+    private record ScoreColumns(int[] stars, int[] forks, long[] updatedEpochDays) {
 
-        if (totalDuration == 0) {
-            return 1.0;
+        static ScoreColumns of(List<RepoItem> items) {
+            int[] stars = new int[items.size()];
+            int[] forks = new int[items.size()];
+            long[] updatedEpochDays = new long[items.size()];
+            for (int i = 0; i < stars.length; i++) {
+                RepoItem item = items.get(i);
+                stars[i] = item.stargazersCount();
+                forks[i] = item.forksCount();
+                updatedEpochDays[i] = LocalDate.parse(item.updatedAt(), DATE_TIME_FORMATTER).toEpochDay();
+            }
+            return new ScoreColumns(stars, forks, updatedEpochDays);
         }
-
-        return 1 - (recency / totalDuration);
-    }
-
-    private long calculateTotalDuration(LocalDate earliestCreatedDate) {
-        return ChronoUnit.DAYS.between(earliestCreatedDate, LocalDate.now());
     }
 
-    private UserPreferencesDTO getUserPreferences(long userId) {
+    /**
+     * Resolves the preferences of a user, falling back to the default weights when none are stored.
+     *
+     * @param userId the ID of the user
+     * @return the user preferences to score with
+     */
+    public UserPreferencesDTO resolveUserPreferences(long userId) {
         return userPreferenceService.getUserPreferences(userId)
                 .orElseGet(() -> userPreferenceService.getDefaultUserPreferences(userId));
     }
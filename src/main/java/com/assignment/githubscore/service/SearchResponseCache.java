@@ -0,0 +1,135 @@
+package com.assignment.githubscore.service;
+
+import com.assignment.githubscore.model.SearchQuery;
+import com.assignment.githubscore.model.SearchResponse;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Shared cache of raw GitHub search responses, keyed by the normalized query.
+ * Concurrent misses for the same query are coalesced into a single upstream call.
+ * Scoring is user specific and is applied on top of the cached responses by the caller.
+ * Every lookup is observed and tagged with whether it was a cache hit, so a miss and the GitHub search it
+ * triggers show up in the trace of the request that waited for them.
+ */
+@Component
+public class SearchResponseCache {
+
+    public static final String SEARCH_RESPONSE_CACHE = "githubSearchResponses";
+
+    private static final String LOOKUP_OBSERVATION = "github.search.cache";
+    private static final String ANY_LANGUAGE = "any";
+
+    private final AsyncLoadingCache<SearchQuery, SearchResponse> cache;
+    private final Duration ttl;
+    private final ObservationRegistry observationRegistry;
+
+    public SearchResponseCache(GitHubAPIClient gitHubAPIClient,
+                               @Value("${github.search.cache.ttl:5m}") Duration ttl,
+                               @Value("${github.search.cache.max-size:1000}") long maxSize,
+                               MeterRegistry meterRegistry,
+                               ObservationRegistry observationRegistry) {
+        this.ttl = ttl;
+        this.observationRegistry = observationRegistry;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync((query, executor) -> gitHubAPIClient
+                        .searchRepositoriesReactive(query.language(), query.earliestCreatedDate())
+                        .toFuture());
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), SEARCH_RESPONSE_CACHE);
+    }
+
+    /**
+     * Returns the search response for the given query, fetching it from GitHub on a cache miss.
+     *
+     * @param language            The programming language to filter repositories.
+     * @param earliestCreatedDate The earliest date when repositories were created.
+     * @return The response containing the search results, or {@code null} if GitHub returned no body.
+     */
+    public SearchResponse getSearchResponse(String language, LocalDate earliestCreatedDate) {
+        SearchQuery query = SearchQuery.of(language, earliestCreatedDate);
+        Observation observation = startLookupObservation(query);
+        try (Observation.Scope scope = observation.openScope()) {
+            return cache.get(query).join();
+        } catch (CompletionException e) {
+            RuntimeException failure = e.getCause() instanceof RuntimeException cause ? cause : e;
+            observation.error(failure);
+            throw failure;
+        } finally {
+            observation.stop();
+        }
+    }
+
+    /**
+     * Returns the search response for the given query without blocking the caller.
+     * Cancelling the returned mono does not cancel a shared upstream call other callers may be waiting for.
+     *
+     * @param language            The programming language to filter repositories.
+     * @param earliestCreatedDate The earliest date when repositories were created.
+     * @return A mono emitting the response containing the search results.
+     */
+    public Mono<SearchResponse> getSearchResponseReactive(String language, LocalDate earliestCreatedDate) {
+        return Mono.defer(() -> {
+            SearchQuery query = SearchQuery.of(language, earliestCreatedDate);
+            Observation observation = startLookupObservation(query);
+            CompletableFuture<SearchResponse> searchResponse;
+            try (Observation.Scope scope = observation.openScope()) {
+                searchResponse = cache.get(query);
+            }
+            return Mono.fromFuture(searchResponse, true)
+                    .doOnError(observation::error)
+                    .doFinally(signal -> observation.stop());
+        });
+    }
+
+    /**
+     * Checks whether the cached response of a query is missing or expires within the given window.
+     *
+     * @param query  The normalized query.
+     * @param window The time from now the entry has to outlive.
+     * @return {@code true} if the query has no cached response or the response expires within the window.
+     */
+    public boolean expiresWithin(SearchQuery query, Duration window) {
+        return cache.synchronous().policy().expireAfterWrite()
+                .flatMap(expiration -> expiration.ageOf(query))
+                .map(age -> age.plus(window).compareTo(ttl) >= 0)
+                .orElse(true);
+    }
+
+    /**
+     * Fetches the response of a query from GitHub and replaces the cached one once it arrives.
+     * Until then, and if the fetch fails, callers keep being served the cached response.
+     *
+     * @param query The normalized query.
+     * @return A mono emitting the fresh response, or empty if GitHub returned no body.
+     */
+    public Mono<SearchResponse> refresh(SearchQuery query) {
+        return Mono.fromFuture(() -> cache.synchronous().refresh(query));
+    }
+
+    /**
+     * Starts the observation of a lookup. A query whose load is still in flight counts as a hit,
+     * since the lookup joins the pending GitHub search instead of starting one.
+     */
+    private Observation startLookupObservation(SearchQuery query) {
+        return Observation.createNotStarted(LOOKUP_OBSERVATION, observationRegistry)
+                .contextualName("github search cache lookup")
+                .lowCardinalityKeyValue("cache.result", cache.getIfPresent(query) != null ? "hit" : "miss")
+                .highCardinalityKeyValue("github.language", query.language() == null ? ANY_LANGUAGE : query.language())
+                .start();
+    }
+}
@@ -0,0 +1,57 @@
+package com.assignment.githubscore.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Selects one page of the best elements of a list without sorting the whole list.
+ * Only the first {@code offset + limit} elements in order are kept, in a bounded heap whose head is the worst
+ * of them, so a selection costs O(n log k) time and O(k) memory for k = offset + limit.
+ */
+public final class TopKSelector {
+
+    private TopKSelector() {
+    }
+
+    /**
+     * Returns the elements at positions {@code offset} to {@code offset + limit} (exclusive) of the list in the given order.
+     *
+     * @param elements the elements to select from
+     * @param order    the order of the elements, best first
+     * @param offset   the number of best elements to skip
+     * @param limit    the maximum number of elements to return
+     * @return the selected elements, in order
+     */
+    public static <T> List<T> select(List<T> elements, Comparator<? super T> order, int offset, int limit) {
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("Offset and limit must not be negative");
+        }
+        long bound = (long) offset + limit;
+        if (limit == 0 || offset >= elements.size()) {
+            return List.of();
+        }
+        if (bound >= elements.size()) {
+            List<T> sorted = new ArrayList<>(elements);
+            sorted.sort(order);
+            return sorted.subList(offset, sorted.size());
+        }
+
+        int k = (int) bound;
+        Comparator<? super T> worstFirst = Collections.reverseOrder(order);
+        PriorityQueue<T> heap = new PriorityQueue<>(k, worstFirst);
+        for (T element : elements) {
+            if (heap.size() < k) {
+                heap.add(element);
+            } else if (order.compare(element, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(element);
+            }
+        }
+        List<T> best = new ArrayList<>(heap);
+        best.sort(order);
+        return best.subList(offset, k);
+    }
+}
@@ -7,6 +7,8 @@ import com.assignment.githubscore.exception.ConflictException;
 import com.assignment.githubscore.exception.NoSuchElementException;
 import com.assignment.githubscore.mapper.UserPreferencesMapper;
 import com.assignment.githubscore.repository.UserPreferencesRepository;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
@@ -14,6 +16,8 @@ import java.util.Optional;
 @Service
 public class UserPreferenceService {
 
+    public static final String USER_PREFERENCES_CACHE = "userPreferences";
+
     private final UserPreferencesRepository userPreferencesRepository;
     private final UserPreferencesMapper userPreferencesMapper;
 
@@ -28,6 +32,7 @@ public class UserPreferenceService {
      * @param userPreferencesDTO The user preferences to save.
      * @return The saved user preferences.
      */
+    @CacheEvict(cacheNames = USER_PREFERENCES_CACHE, key = "#userPreferencesDTO.userId()")
     public UserPreferencesDTO saveUserPreferences(UserPreferencesDTO userPreferencesDTO) {
         long userId = userPreferencesDTO.userId();
         Optional<UserPreferencesDTO> existingPreferences = getUserPreferences(userId);
@@ -45,6 +50,7 @@ public class UserPreferenceService {
      * @return The updated user preferences.
      * @throws NoSuchElementException if the user preferences for the given user ID are not found.
      */
+    @CacheEvict(cacheNames = USER_PREFERENCES_CACHE, key = "#userPreferencesDTO.userId()")
     public UserPreferencesDTO updateUserPreferences(UserPreferencesDTO userPreferencesDTO) {
         UserPreferences existingPreferences = getUserPreferencesById(userPreferencesDTO.userId());
 
@@ -60,6 +66,7 @@ public class UserPreferenceService {
      * @param userId The ID of the user whose preferences should be deleted.
      * @throws NoSuchElementException if the user preferences for the given user ID are not found.
      */
+    @CacheEvict(cacheNames = USER_PREFERENCES_CACHE, key = "#userId")
     public void deleteUserPreferences(long userId) {
         UserPreferences existingPreferences = getUserPreferencesById(userId);
         userPreferencesRepository.deleteById(existingPreferences.getId());
@@ -67,10 +74,12 @@ public class UserPreferenceService {
 
     /**
      * Retrieves user preferences from the database by user ID.
+     * Results are cached per user, including the absence of preferences for users on the default weights.
      *
      * @param userId The ID of the user whose preferences should be retrieved.
      * @return The user preferences, if found.
      */
+    @Cacheable(cacheNames = USER_PREFERENCES_CACHE, key = "#userId")
     public Optional<UserPreferencesDTO> getUserPreferences(long userId) {
         return userPreferencesRepository.findByUserId(userId)
                 .map(userPreferencesMapper::toDto);
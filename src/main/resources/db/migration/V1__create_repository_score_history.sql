@@ -0,0 +1,27 @@
+-- Append-only popularity score history, one row per repository and search.
+-- Partitioned by day on recorded_at so that retention drops whole partitions instead of deleting rows.
+-- Daily partitions are created ahead of time by ScoreHistoryService; rows outside them land in the default partition.
+CREATE TABLE IF NOT EXISTS repository_score_history
+(
+    repo_id          BIGINT           NOT NULL,
+    popularity_score DOUBLE PRECISION NOT NULL,
+    recorded_at      TIMESTAMP        NOT NULL
+) PARTITION BY RANGE (recorded_at);
+
+CREATE INDEX IF NOT EXISTS idx_repository_score_history_repo_id_recorded_at
+    ON repository_score_history (repo_id, recorded_at DESC);
+
+CREATE TABLE IF NOT EXISTS repository_score_history_default
+    PARTITION OF repository_score_history DEFAULT;
+
+-- Daily aggregates of history rows older than the raw retention period.
+CREATE TABLE IF NOT EXISTS repository_score_daily
+(
+    repo_id      BIGINT           NOT NULL,
+    day          DATE             NOT NULL,
+    avg_score    DOUBLE PRECISION NOT NULL,
+    min_score    DOUBLE PRECISION NOT NULL,
+    max_score    DOUBLE PRECISION NOT NULL,
+    sample_count INTEGER          NOT NULL,
+    PRIMARY KEY (repo_id, day)
+);
@@ -0,0 +1,47 @@
+-- Latest popularity score per repository. The statements are idempotent so that databases whose tables
+-- were generated by Hibernate before Flyway was introduced are brought to the same schema.
+CREATE SEQUENCE IF NOT EXISTS repository_scores_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS repository_scores
+(
+    id               BIGINT           NOT NULL PRIMARY KEY,
+    repo_id          BIGINT           NOT NULL,
+    repo_name        VARCHAR(255),
+    popularity_score DOUBLE PRECISION NOT NULL,
+    recorded_at      TIMESTAMP(6)
+);
+
+-- GitHub repository ids are approaching the int range.
+ALTER TABLE repository_scores ALTER COLUMN repo_id TYPE BIGINT;
+
+-- Earlier versions could record a repository more than once; keep its most recent row.
+DELETE FROM repository_scores
+WHERE id IN (SELECT id
+             FROM (SELECT id,
+                          ROW_NUMBER() OVER (PARTITION BY repo_id ORDER BY recorded_at DESC NULLS LAST, id DESC) AS position
+                   FROM repository_scores) ranked
+             WHERE position > 1);
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_repository_scores_repo_id ON repository_scores (repo_id);
+
+-- Scoring weights per user; a user keeps the most recently created row.
+CREATE TABLE IF NOT EXISTS user_preferences
+(
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id        BIGINT           NOT NULL,
+    stars_weight   DOUBLE PRECISION NOT NULL,
+    forks_weight   DOUBLE PRECISION NOT NULL,
+    recency_weight DOUBLE PRECISION NOT NULL
+);
+
+DELETE FROM user_preferences WHERE user_id IS NULL;
+
+DELETE FROM user_preferences
+WHERE id IN (SELECT id
+             FROM (SELECT id, ROW_NUMBER() OVER (PARTITION BY user_id ORDER BY id DESC) AS position
+                   FROM user_preferences) ranked
+             WHERE position > 1);
+
+ALTER TABLE user_preferences ALTER COLUMN user_id SET NOT NULL;
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_user_preferences_user_id ON user_preferences (user_id);
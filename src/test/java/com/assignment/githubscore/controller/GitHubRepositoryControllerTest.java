@@ -0,0 +1,95 @@
+package com.assignment.githubscore.controller;
+
+import com.assignment.githubscore.dto.RepoItemDTO;
+import com.assignment.githubscore.dto.RepoItemPageDTO;
+import com.assignment.githubscore.service.GitHubRepositoryService;
+import com.assignment.githubscore.service.PopularQueryTracker;
+import com.assignment.githubscore.service.ScoreHistoryService;
+import com.assignment.githubscore.service.ScoringService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(GitHubRepositoryController.class)
+class GitHubRepositoryControllerTest {
+
+    private static final LocalDate EARLIEST_CREATED_DATE = LocalDate.of(2024, 1, 1);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private GitHubRepositoryService gitHubRepositoryService;
+
+    @MockBean
+    private ScoringService scoringService;
+
+    @MockBean
+    private ScoreHistoryService scoreHistoryService;
+
+    @MockBean
+    private PopularQueryTracker popularQueryTracker;
+
+    @Test
+    void searchGitHubRepository_ShouldReturnAllRepositoriesWithoutPageOrSize() throws Exception {
+        List<RepoItemDTO> repositories = createRepositories(GitHubRepositoryService.MAX_PAGE_SIZE + 20);
+        when(gitHubRepositoryService.getAllRepositories("java", EARLIEST_CREATED_DATE, 1L, null, null))
+                .thenReturn(new RepoItemPageDTO(repositories, repositories.size()));
+
+        mockMvc.perform(get("/api/github/search")
+                        .param("language", "java")
+                        .param("earliestCreatedDate", EARLIEST_CREATED_DATE.toString())
+                        .header("UserId", 1L))
+                .andExpect(status().isOk())
+                .andExpect(header().string(GitHubRepositoryController.TOTAL_COUNT_HEADER, String.valueOf(repositories.size())))
+                .andExpect(jsonPath("$", hasSize(repositories.size())))
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[119].id").value(120));
+
+        verify(gitHubRepositoryService, never()).getRepositoryPage(any(), any(), anyLong(), anyInt(), anyInt(), any(), any());
+    }
+
+    @Test
+    void searchGitHubRepository_ShouldUseDefaultSizeWhenOnlyPageIsGiven() throws Exception {
+        List<RepoItemDTO> repositories = createRepositories(GitHubRepositoryController.DEFAULT_PAGE_SIZE);
+        when(gitHubRepositoryService.getRepositoryPage("java", EARLIEST_CREATED_DATE, 1L, 1,
+                GitHubRepositoryController.DEFAULT_PAGE_SIZE, null, null))
+                .thenReturn(new RepoItemPageDTO(repositories, 100));
+
+        mockMvc.perform(get("/api/github/search")
+                        .param("language", "java")
+                        .param("earliestCreatedDate", EARLIEST_CREATED_DATE.toString())
+                        .param("page", "1")
+                        .header("UserId", 1L))
+                .andExpect(status().isOk())
+                .andExpect(header().string(GitHubRepositoryController.TOTAL_COUNT_HEADER, "100"))
+                .andExpect(jsonPath("$", hasSize(GitHubRepositoryController.DEFAULT_PAGE_SIZE)));
+
+        verify(gitHubRepositoryService, never()).getAllRepositories(any(), any(), anyLong(), any(), any());
+    }
+
+    private static List<RepoItemDTO> createRepositories(int count) {
+        return LongStream.rangeClosed(1, count)
+                .mapToObj(id -> new RepoItemDTO(id, 0.5, "New", "", "repo-" + id, "owner/repo-" + id, false, "", false,
+                        "", "", 0, "java", 0, false, false))
+                .toList();
+    }
+}
@@ -0,0 +1,74 @@
+package com.assignment.githubscore.mapper;
+
+import com.assignment.githubscore.model.RepoItem;
+import com.assignment.githubscore.model.SearchResponse;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SearchResponseDecoderTest {
+
+    private static final String SEARCH_RESPONSE_FIXTURE = "/github/search-repositories.json";
+
+    private final SearchResponseDecoder searchResponseDecoder = new SearchResponseDecoder();
+
+    @Test
+    void decode_ShouldReadOnlyTheProjectedFields() throws IOException {
+        SearchResponse searchResponse;
+        try (InputStream inputStream = getClass().getResourceAsStream(SEARCH_RESPONSE_FIXTURE)) {
+            searchResponse = searchResponseDecoder.decode(inputStream);
+        }
+
+        assertEquals(2, searchResponse.totalCount());
+        assertEquals(2, searchResponse.items().size());
+        assertEquals(new RepoItem(101, "MDEwOlJlcG9zaXRvcnk101", "alpha", "owner101/alpha", false,
+                "https://github.com/owner101/alpha", false, "2024-01-15T08:30:00Z", "2024-05-01T10:00:00Z",
+                1500, "Java", 300, false, false), searchResponse.items().getFirst());
+    }
+
+    @Test
+    void decode_ShouldMatchDataBinding() throws IOException {
+        SearchResponse expected;
+        try (InputStream inputStream = getClass().getResourceAsStream(SEARCH_RESPONSE_FIXTURE)) {
+            expected = new ObjectMapper().readValue(inputStream, SearchResponse.class);
+        }
+
+        SearchResponse actual;
+        try (InputStream inputStream = getClass().getResourceAsStream(SEARCH_RESPONSE_FIXTURE)) {
+            actual = searchResponseDecoder.decode(inputStream);
+        }
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void decode_ShouldHandleNullsAndMissingItems() throws IOException {
+        SearchResponse searchResponse = decode("""
+                {"total_count": 1, "items": [{"id": 5, "language": null, "license": null, "topics": []}]}
+                """);
+
+        assertEquals(1, searchResponse.items().size());
+        assertNull(searchResponse.items().getFirst().language());
+        assertNull(decode("""
+                {"total_count": 0, "incomplete_results": true}
+                """).items());
+    }
+
+    @Test
+    void decode_ShouldRejectNonObjectBody() {
+        assertThrows(JsonParseException.class, () -> decode("[]"));
+    }
+
+    private SearchResponse decode(String json) throws IOException {
+        return searchResponseDecoder.decode(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,31 @@
+package com.assignment.githubscore.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Records the SQL Hibernate sends to the database, so tests can run EXPLAIN on exactly what a finder executes.
+ */
+public class CapturingStatementInspector implements StatementInspector {
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.add(sql);
+        return sql;
+    }
+
+    static void clear() {
+        STATEMENTS.clear();
+    }
+
+    static String lastSelect() {
+        return STATEMENTS.reversed().stream()
+                .filter(sql -> sql.stripLeading().toLowerCase().startsWith("select"))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No SELECT statement was captured"));
+    }
+}
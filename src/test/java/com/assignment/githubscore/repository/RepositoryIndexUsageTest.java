@@ -0,0 +1,75 @@
+package com.assignment.githubscore.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the Flyway migrations against a real Postgres, validates the entity mappings against them,
+ * and checks with EXPLAIN that the hot finders are answered from their unique indexes.
+ * Sequential scans are disabled for the checks, so an empty table still shows whether a usable index exists.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.assignment.githubscore.repository.CapturingStatementInspector"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class RepositoryIndexUsageTest {
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private RepositoryScoreRepository repositoryScoreRepository;
+
+    @Autowired
+    private UserPreferencesRepository userPreferencesRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("SET enable_seqscan = off");
+        CapturingStatementInspector.clear();
+    }
+
+    @Test
+    void findByRepoId_ShouldUseRepoIdIndex() {
+        repositoryScoreRepository.findByRepoId(42L);
+
+        assertUsesIndex(CapturingStatementInspector.lastSelect(), "ux_repository_scores_repo_id", 42L);
+    }
+
+    @Test
+    void findByRepoIdIn_ShouldUseRepoIdIndex() {
+        repositoryScoreRepository.findByRepoIdIn(List.of(1L, 2L, 3L));
+
+        assertUsesIndex(CapturingStatementInspector.lastSelect(), "ux_repository_scores_repo_id", 1L, 2L, 3L);
+    }
+
+    @Test
+    void findByUserId_ShouldUseUserIdIndex() {
+        userPreferencesRepository.findByUserId(7L);
+
+        assertUsesIndex(CapturingStatementInspector.lastSelect(), "ux_user_preferences_user_id", 7L);
+    }
+
+    private void assertUsesIndex(String sql, String indexName, Object... parameters) {
+        String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, parameters));
+        assertTrue(plan.contains(indexName), STR."Expected a scan of \{indexName} for \{sql}, but the plan was:\n\{plan}");
+    }
+}
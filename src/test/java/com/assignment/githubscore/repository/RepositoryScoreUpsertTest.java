@@ -0,0 +1,242 @@
+package com.assignment.githubscore.repository;
+
+import com.assignment.githubscore.dto.UserPreferencesDTO;
+import com.assignment.githubscore.entity.RepositoryScore;
+import com.assignment.githubscore.mapper.GitHubDtoMapper;
+import com.assignment.githubscore.model.RepoItem;
+import com.assignment.githubscore.model.SearchResponse;
+import com.assignment.githubscore.service.GitHubRepositoryService;
+import com.assignment.githubscore.service.PreviousScoreIndex;
+import com.assignment.githubscore.service.ScoreHistoryService;
+import com.assignment.githubscore.service.ScoreWriteBehindQueue;
+import com.assignment.githubscore.service.ScoringService;
+import com.assignment.githubscore.service.SearchResponseCache;
+import com.assignment.githubscore.service.UserPreferenceService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.core.scheduler.Schedulers;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks the native score upsert against a real Postgres. Every search commits on its own connection,
+ * so the test itself runs outside a transaction. The data source is wrapped to count every statement executed
+ * through it, whether it comes from Hibernate or from a {@link JdbcTemplate}; a JDBC batch counts as one statement.
+ */
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=validate")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(RepositoryScoreUpsertTest.StatementCountingConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers(disabledWithoutDocker = true)
+class RepositoryScoreUpsertTest {
+
+    private static final int REPOSITORIES = 100;
+    private static final int CONCURRENT_SEARCHES = 16;
+    private static final int SEARCHES_PER_THREAD = 5;
+    private static final AtomicInteger EXECUTED_STATEMENTS = new AtomicInteger();
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private RepositoryScoreRepository repositoryScoreRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionOperations transactionOperations;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM repository_scores");
+    }
+
+    @Test
+    void concurrentSearches_ShouldKeepOneScorePerRepository() throws Exception {
+        ScoreHistoryService scoreHistoryService = new ScoreHistoryService(null, Duration.ZERO, Duration.ZERO, 1, 1, Clock.systemDefaultZone(),
+                new SimpleMeterRegistry()) {
+            @Override
+            public void recordScores(List<RepositoryScore> repositoryScores) {
+            }
+        };
+        GitHubRepositoryService service = createService(REPOSITORIES, scoreHistoryService);
+        LocalDate earliestCreatedDate = LocalDate.now().minusDays(30);
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Future<?>> futures = new ArrayList<>(CONCURRENT_SEARCHES);
+        try (ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_SEARCHES)) {
+            for (int i = 0; i < CONCURRENT_SEARCHES; i++) {
+                long userId = i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int search = 0; search < SEARCHES_PER_THREAD; search++) {
+                        service.getFilteredRepositories("java", earliestCreatedDate, userId);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        assertEquals(REPOSITORIES, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM repository_scores", Integer.class));
+        assertEquals(REPOSITORIES, jdbcTemplate.queryForObject("SELECT COUNT(DISTINCT repo_id) FROM repository_scores", Integer.class));
+    }
+
+    @Test
+    void getFilteredRepositories_ShouldUseConstantNumberOfStatementsRegardlessOfPageSize() {
+        LocalDate earliestCreatedDate = LocalDate.now().minusDays(30);
+        List<Integer> statementCounts = new ArrayList<>();
+        for (int pageSize : List.of(1, 30, 100)) {
+            jdbcTemplate.update("DELETE FROM repository_scores");
+            // Every repository was scored by an earlier search, which is the common case.
+            repositoryScoreRepository.upsertAll(IntStream.rangeClosed(1, pageSize)
+                    .mapToObj(repoId -> createScore(repoId, 0.5, LocalDateTime.now().minusHours(1)))
+                    .toList());
+            GitHubRepositoryService service = createService(pageSize, createScoreHistoryService());
+
+            EXECUTED_STATEMENTS.set(0);
+            service.getFilteredRepositories("java", earliestCreatedDate, 1L);
+            statementCounts.add(EXECUTED_STATEMENTS.get());
+        }
+
+        // One lookup of the previous scores, one upsert batch and one history batch per search.
+        assertEquals(List.of(3, 3, 3), statementCounts);
+        assertEquals(100, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM repository_scores", Integer.class));
+    }
+
+    @Test
+    void upsertAll_ShouldUpdateExistingRowsAndKeepNewerScores() {
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        repositoryScoreRepository.upsertAll(List.of(createScore(1, 0.5, now), createScore(2, 0.5, now)));
+        Long firstId = repositoryScoreRepository.findByRepoId(1L).orElseThrow().getId();
+
+        repositoryScoreRepository.upsertAll(List.of(createScore(1, 0.9, now.plusMinutes(1)), createScore(2, 0.1, now.minusMinutes(1))));
+
+        RepositoryScore updated = repositoryScoreRepository.findByRepoId(1L).orElseThrow();
+        assertEquals(firstId, updated.getId());
+        assertEquals(0.9, updated.getPopularityScore());
+        assertEquals(now.plusMinutes(1), updated.getRecordedAt());
+        assertEquals(0.5, repositoryScoreRepository.findByRepoId(2L).orElseThrow().getPopularityScore());
+        assertEquals(2, repositoryScoreRepository.count());
+    }
+
+    @Test
+    void upsertAll_ShouldDrawIdsOnlyForNewRepositories() {
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        repositoryScoreRepository.upsertAll(List.of(createScore(1, 0.5, now), createScore(2, 0.5, now)));
+        long lastId = lastDrawnId();
+
+        repositoryScoreRepository.upsertAll(List.of(createScore(1, 0.9, now.plusMinutes(1)), createScore(2, 0.1, now.minusMinutes(1))));
+        assertEquals(lastId, lastDrawnId());
+
+        repositoryScoreRepository.upsertAll(List.of(createScore(1, 0.8, now.plusMinutes(2)), createScore(3, 0.4, now)));
+        assertEquals(lastId + 50, lastDrawnId());
+        assertEquals(lastId + 50, repositoryScoreRepository.findByRepoId(3L).orElseThrow().getId());
+        assertEquals(0.8, repositoryScoreRepository.findByRepoId(1L).orElseThrow().getPopularityScore());
+    }
+
+    private long lastDrawnId() {
+        return jdbcTemplate.queryForObject("SELECT last_value FROM repository_scores_seq", Long.class);
+    }
+
+    private ScoreHistoryService createScoreHistoryService() {
+        return new ScoreHistoryService(new ScoreHistoryRepository(jdbcTemplate), Duration.ofDays(30), Duration.ofDays(730), 1, 1000,
+                Clock.systemDefaultZone(), new SimpleMeterRegistry());
+    }
+
+    private GitHubRepositoryService createService(int repositories, ScoreHistoryService scoreHistoryService) {
+        SearchResponse searchResponse = new SearchResponse(repositories, false, IntStream.rangeClosed(1, repositories)
+                .mapToObj(id -> new RepoItem(id, "", "repo-" + id, "", false, "", false, "",
+                        LocalDateTime.now().minusDays(id % 30).toString(), id * 10, "java", id, false, false))
+                .toList());
+
+        SearchResponseCache searchResponseCache = new SearchResponseCache(null, Duration.ZERO, 0, new SimpleMeterRegistry(), ObservationRegistry.NOOP) {
+            @Override
+            public SearchResponse getSearchResponse(String language, LocalDate earliestCreatedDate) {
+                return searchResponse;
+            }
+        };
+
+        UserPreferenceService userPreferenceService = new UserPreferenceService(null, null) {
+            @Override
+            public Optional<UserPreferencesDTO> getUserPreferences(long userId) {
+                return Optional.empty();
+            }
+        };
+
+        // The flusher is not started, so every search writes its scores itself and the upserts hit Postgres concurrently.
+        ScoreWriteBehindQueue scoreWriteBehindQueue = new ScoreWriteBehindQueue(repositoryScoreRepository, scoreHistoryService,
+                transactionOperations, 100, Duration.ofSeconds(1), 1000, new SimpleMeterRegistry());
+
+        return new GitHubRepositoryService(searchResponseCache, new GitHubDtoMapper(),
+                new ScoringService(userPreferenceService, Clock.systemDefaultZone()), repositoryScoreRepository, scoreWriteBehindQueue,
+                new PreviousScoreIndex(repositoryScoreRepository, 1000, new SimpleMeterRegistry()), Schedulers.immediate(),
+                new SimpleMeterRegistry());
+    }
+
+    private RepositoryScore createScore(long repoId, double popularityScore, LocalDateTime recordedAt) {
+        RepositoryScore repositoryScore = new RepositoryScore();
+        repositoryScore.setRepoId(repoId);
+        repositoryScore.setRepoName("repo-" + repoId);
+        repositoryScore.setPopularityScore(popularityScore);
+        repositoryScore.setRecordedAt(recordedAt);
+        return repositoryScore;
+    }
+
+    @TestConfiguration
+    static class StatementCountingConfiguration {
+
+        @Bean
+        static BeanPostProcessor statementCountingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof DataSource dataSource)) {
+                        return bean;
+                    }
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .afterQuery((executionInfo, queries) -> EXECUTED_STATEMENTS.incrementAndGet())
+                            .build();
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.assignment.githubscore.repository;
+
+import com.assignment.githubscore.entity.RepositoryScore;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks partition maintenance of the score history against a real Postgres, including days whose scores
+ * were recorded into the default partition before their own partition existed.
+ */
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=validate")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(ScoreHistoryRepository.class)
+@Testcontainers(disabledWithoutDocker = true)
+class ScoreHistoryRepositoryTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 10);
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private ScoreHistoryRepository scoreHistoryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void createPartition_ShouldMoveRowsOfTheDayOutOfTheDefaultPartition() {
+        scoreHistoryRepository.appendAll(List.of(
+                createScore(1, DAY.atTime(8, 0)),
+                createScore(2, DAY.atTime(23, 59)),
+                createScore(3, DAY.plusDays(1).atStartOfDay())));
+
+        scoreHistoryRepository.createPartition(DAY);
+        scoreHistoryRepository.createPartition(DAY);
+
+        assertTrue(scoreHistoryRepository.findPartitionDays().contains(DAY));
+        assertEquals(2, countRows("repository_score_history_p20240310", DAY.atStartOfDay(), DAY.plusDays(1).atStartOfDay()));
+        assertEquals(0, countRows("repository_score_history_default", DAY.atStartOfDay(), DAY.plusDays(1).atStartOfDay()));
+        assertEquals(1, countRows("repository_score_history_default", DAY.plusDays(1).atStartOfDay(), DAY.plusDays(2).atStartOfDay()));
+    }
+
+    private int countRows(String table, LocalDateTime from, LocalDateTime to) {
+        return jdbcTemplate.queryForObject(STR."SELECT COUNT(*) FROM \{table} WHERE recorded_at >= ? AND recorded_at < ?",
+                Integer.class, from, to);
+    }
+
+    private RepositoryScore createScore(long repoId, LocalDateTime recordedAt) {
+        RepositoryScore repositoryScore = new RepositoryScore();
+        repositoryScore.setRepoId(repoId);
+        repositoryScore.setPopularityScore(0.5);
+        repositoryScore.setRecordedAt(recordedAt);
+        return repositoryScore;
+    }
+}
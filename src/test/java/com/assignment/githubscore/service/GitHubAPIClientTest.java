@@ -1,21 +1,44 @@
 package com.assignment.githubscore.service;
 
+import com.assignment.githubscore.exception.GitHubApiErrorHandler;
+import com.assignment.githubscore.mapper.SearchResponseDecoder;
+import com.assignment.githubscore.model.RepoItem;
 import com.assignment.githubscore.model.SearchResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.tck.TestObservationRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
+import static io.micrometer.observation.tck.TestObservationRegistryAssert.assertThat;
 import static java.util.Collections.emptyList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.when;
 
@@ -23,6 +46,10 @@ import static org.mockito.Mockito.when;
 class GitHubAPIClientTest {
     private GitHubAPIClient gitHubAPIClient;
 
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final TestObservationRegistry observationRegistry = TestObservationRegistry.create();
+
     @Mock
     private WebClient.Builder webClientBuilder;
 
@@ -35,18 +62,14 @@ class GitHubAPIClientTest {
     @Mock
     private WebClient.RequestHeadersSpec<?> requestHeadersSpec;
 
-    @Mock
-    private WebClient.ResponseSpec responseSpec;
-
     @BeforeEach
     void setUp() {
         when(webClientBuilder.baseUrl(anyString())).thenReturn(webClientBuilder);
         when(webClientBuilder.defaultHeader(HttpHeaders.ACCEPT, "application/vnd.github.v3+json"))
                 .thenReturn(webClientBuilder);
-        when(webClientBuilder.codecs(any())).thenReturn(webClientBuilder);  // Using any() to avoid lambda mismatch
         when(webClientBuilder.build()).thenReturn(webClient);
 
-        gitHubAPIClient = new GitHubAPIClient("https://api.github.com", webClientBuilder);
+        gitHubAPIClient = new GitHubAPIClient("https://api.github.com", 100, 1, 10, 200, DataSize.ofMegabytes(10), 2, Duration.ofMillis(1), rateLimiter(), new SearchResponseDecoder(), webClientBuilder, meterRegistry, observationRegistry);
     }
 
     @Test
@@ -58,12 +81,276 @@ class GitHubAPIClientTest {
         doReturn(requestHeadersUriSpec).when(webClient).get();
         doReturn(requestHeadersSpec).when(requestHeadersUriSpec).uri(anyString());
 
-        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
-        when(responseSpec.onStatus(any(), any())).thenReturn(responseSpec);
-        when(responseSpec.bodyToMono(SearchResponse.class)).thenReturn(Mono.just(mockResponse));
+        doReturn(requestHeadersSpec).when(requestHeadersSpec).headers(any());
+        doAnswer(invocation -> invocation.<Function<ClientResponse, Mono<SearchResponse>>>getArgument(0)
+                .apply(jsonResponse("""
+                        {"total_count": 1, "incomplete_results": false, "items": []}
+                        """)))
+                .when(requestHeadersSpec).exchangeToMono(any());
 
         SearchResponse response = gitHubAPIClient.searchRepositories(language, earliestCreatedDate);
 
         assertEquals(mockResponse, response);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testSearchRepositoriesReactive_success() {
+        String language = "Java";
+        LocalDate earliestCreatedDate = LocalDate.now().minusDays(30);
+        SearchResponse mockResponse = new SearchResponse(1, false, emptyList());
+
+        doReturn(requestHeadersUriSpec).when(webClient).get();
+        doReturn(requestHeadersSpec).when(requestHeadersUriSpec).uri(anyString());
+
+        doReturn(requestHeadersSpec).when(requestHeadersSpec).headers(any());
+        doAnswer(invocation -> invocation.<Function<ClientResponse, Mono<SearchResponse>>>getArgument(0)
+                .apply(jsonResponse("""
+                        {"total_count": 1, "incomplete_results": false, "items": []}
+                        """)))
+                .when(requestHeadersSpec).exchangeToMono(any());
+
+        Mono<SearchResponse> response = gitHubAPIClient.searchRepositoriesReactive(language, earliestCreatedDate);
+
+        assertEquals(mockResponse, response.block());
+    }
+
+    @Test
+    void testSearchRepositories_fetchesRemainingPagesConcurrentlyAndMergesInOrder() {
+        List<String> requestedUrls = new CopyOnWriteArrayList<>();
+        WebClient.Builder builder = WebClient.builder().exchangeFunction(request -> {
+            String url = request.url().toString();
+            requestedUrls.add(url);
+            int page = Integer.parseInt(url.substring(url.lastIndexOf("page=") + "page=".length()));
+            // Later pages answer first, the merge must still follow page order.
+            return Mono.just(jsonResponse(STR."""
+                    {"total_count": 250, "incomplete_results": \{page == 2}, "items": [{"id": \{page}, "stargazers_count": \{page * 10}}]}
+                    """)).delayElement(Duration.ofMillis(50L * (4 - page)));
+        });
+        GitHubAPIClient multiPageClient = new GitHubAPIClient("https://api.github.com", 1, 3, 3, 200, DataSize.ofMegabytes(10), 2, Duration.ofMillis(1), rateLimiter(), new SearchResponseDecoder(), builder, meterRegistry, observationRegistry);
+
+        SearchResponse response = multiPageClient.searchRepositories("Java", LocalDate.of(2024, 1, 1));
+
+        assertEquals(3, requestedUrls.size());
+        assertTrue(requestedUrls.getFirst().endsWith("&page=1"));
+        assertTrue(requestedUrls.stream().allMatch(url -> url.contains("per_page=1")));
+        assertEquals(250, response.totalCount());
+        assertTrue(response.incompleteResults());
+        assertEquals(List.of(1L, 2L, 3L), response.items().stream().map(RepoItem::id).toList());
+    }
+
+    @Test
+    void testSearchRepositories_observesSearchAsParentOfPageRequests() {
+        WebClient.Builder builder = WebClient.builder()
+                .observationRegistry(observationRegistry)
+                .exchangeFunction(request -> Mono.just(jsonResponse("""
+                        {"total_count": 2, "incomplete_results": false, "items": [{"id": 1}]}
+                        """)));
+        GitHubAPIClient multiPageClient = new GitHubAPIClient("https://api.github.com", 1, 2, 2, 200, DataSize.ofMegabytes(10), 2, Duration.ofMillis(1), rateLimiter(), new SearchResponseDecoder(), builder, meterRegistry, observationRegistry);
+
+        multiPageClient.searchRepositories("Java", LocalDate.of(2024, 1, 1));
+
+        Predicate<Observation.ContextView> searchObservation = parent -> "github.api.search".equals(parent.getName());
+        assertThat(observationRegistry)
+                .hasNumberOfObservationsWithNameEqualTo("http.client.requests", 2)
+                .forAllObservationsWithNameEqualTo("http.client.requests", observation -> observation
+                        .hasParentObservationContextMatching(searchObservation))
+                .hasObservationWithNameEqualTo("github.api.search").that()
+                .hasLowCardinalityKeyValue("github.page.count", "2")
+                .hasHighCardinalityKeyValue("github.language", "Java")
+                .hasHighCardinalityKeyValue("github.item.count", "2")
+                .hasBeenStopped();
+    }
+
+    @Test
+    void testSearchRepositories_capsPagesAtSearchResultLimit() {
+        List<String> requestedUrls = new CopyOnWriteArrayList<>();
+        WebClient.Builder builder = WebClient.builder().exchangeFunction(request -> {
+            requestedUrls.add(request.url().toString());
+            return Mono.just(jsonResponse(pageJson(5000, 100)));
+        });
+        GitHubAPIClient multiPageClient = new GitHubAPIClient("https://api.github.com", 100, 50, 10, 200, DataSize.ofMegabytes(10), 2, Duration.ofMillis(1), rateLimiter(), new SearchResponseDecoder(), builder, meterRegistry, observationRegistry);
+
+        multiPageClient.searchRepositories("Java", LocalDate.of(2024, 1, 1));
+
+        assertEquals(10, requestedUrls.size());
+    }
+
+    @Test
+    void testSearchRepositories_requestsOnlyPagesHoldingResults() {
+        List<String> requestedUrls = new CopyOnWriteArrayList<>();
+        WebClient.Builder builder = WebClient.builder().exchangeFunction(request -> {
+            requestedUrls.add(request.url().toString());
+            return Mono.just(jsonResponse(pageJson(40, 10)));
+        });
+        GitHubAPIClient multiPageClient = new GitHubAPIClient("https://api.github.com", 10, 10, 10, 200, DataSize.ofMegabytes(10), 2, Duration.ofMillis(1), rateLimiter(), new SearchResponseDecoder(), builder, meterRegistry, observationRegistry);
+
+        SearchResponse first = multiPageClient.searchRepositories("Java", LocalDate.of(2024, 1, 1));
+        SearchResponse second = multiPageClient.searchRepositories("Java", LocalDate.of(2024, 2, 1));
+
+        assertEquals(8, requestedUrls.size());
+        assertEquals(40, first.items().size());
+        assertEquals(40, second.items().size());
+    }
+
+    @Test
+    void testSearchRepositories_stopsAfterShortPage() {
+        List<String> requestedUrls = new CopyOnWriteArrayList<>();
+        WebClient.Builder builder = WebClient.builder().exchangeFunction(request -> {
+            String url = request.url().toString();
+            requestedUrls.add(url);
+            // GitHub reports more results than it returns, so the second page is already short.
+            return Mono.just(jsonResponse(pageJson(50, url.endsWith("&page=1") ? 10 : 3)));
+        });
+        GitHubAPIClient multiPageClient = new GitHubAPIClient("https://api.github.com", 10, 5, 1, 200, DataSize.ofMegabytes(10), 2, Duration.ofMillis(1), rateLimiter(), new SearchResponseDecoder(), builder, meterRegistry, observationRegistry);
+
+        SearchResponse response = multiPageClient.searchRepositories("Java", LocalDate.of(2024, 1, 1));
+
+        assertEquals(2, requestedUrls.size());
+        assertEquals(13, response.items().size());
+    }
+
+    @Test
+    void testSearchRepositories_takesPageCountFromRevalidatedFirstPage() {
+        List<String> requestedUrls = new CopyOnWriteArrayList<>();
+        WebClient.Builder builder = WebClient.builder().exchangeFunction(request -> {
+            requestedUrls.add(request.url().toString());
+            return Mono.just(ClientResponse.create(HttpStatus.OK)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .header(HttpHeaders.ETAG, "\"abc\"")
+                    .body(pageJson(20, 10))
+                    .build());
+        });
+        GitHubAPIClient multiPageClient = new GitHubAPIClient("https://api.github.com", 10, 10, 10, 200, DataSize.ofMegabytes(10), 2, Duration.ofMillis(1), rateLimiter(), new SearchResponseDecoder(), builder, meterRegistry, observationRegistry);
+
+        multiPageClient.searchRepositories("Java", LocalDate.of(2024, 1, 1));
+        SearchResponse response = multiPageClient.searchRepositories("Java", LocalDate.of(2024, 1, 1));
+
+        assertEquals(4, requestedUrls.size());
+        assertEquals(20, response.items().size());
+    }
+
+    @Test
+    void testSearchRepositories_revalidatesWithETagAndReusesResponseOnNotModified() {
+        List<HttpHeaders> requestHeaders = new CopyOnWriteArrayList<>();
+        AtomicInteger requests = new AtomicInteger();
+        WebClient.Builder builder = WebClient.builder().exchangeFunction(request -> {
+            requestHeaders.add(request.headers());
+            if (requests.getAndIncrement() == 0) {
+                return Mono.just(ClientResponse.create(HttpStatus.OK)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .header(HttpHeaders.ETAG, "\"abc\"")
+                        .header(HttpHeaders.LAST_MODIFIED, "Mon, 01 Jan 2024 00:00:00 GMT")
+                        .body("""
+                                {"total_count": 1, "incomplete_results": false, "items": [{"id": 7}]}
+                                """)
+                        .build());
+            }
+            return Mono.just(ClientResponse.create(HttpStatus.NOT_MODIFIED).build());
+        });
+        GitHubAPIClient conditionalClient = new GitHubAPIClient("https://api.github.com", 100, 1, 1, 200, DataSize.ofMegabytes(10), 2, Duration.ofMillis(1), rateLimiter(), new SearchResponseDecoder(), builder, meterRegistry, observationRegistry);
+
+        SearchResponse first = conditionalClient.searchRepositories("Java", LocalDate.of(2024, 1, 1));
+        SearchResponse second = conditionalClient.searchRepositories("Java", LocalDate.of(2024, 1, 1));
+
+        assertSame(first, second);
+        assertEquals(List.of(7L), second.items().stream().map(RepoItem::id).toList());
+        assertTrue(requestHeaders.get(0).getIfNoneMatch().isEmpty());
+        assertEquals(List.of("\"abc\""), requestHeaders.get(1).getIfNoneMatch());
+        assertEquals("Mon, 01 Jan 2024 00:00:00 GMT", requestHeaders.get(1).getFirst(HttpHeaders.IF_MODIFIED_SINCE));
+    }
+
+    @Test
+    void testSearchRepositories_mapsErrorStatusToGitHubApiError() {
+        WebClient.Builder builder = WebClient.builder().exchangeFunction(request ->
+                Mono.just(ClientResponse.create(HttpStatus.FORBIDDEN).build()));
+        GitHubAPIClient failingClient = new GitHubAPIClient("https://api.github.com", 100, 1, 1, 200, DataSize.ofMegabytes(10), 2, Duration.ofMillis(1), rateLimiter(), new SearchResponseDecoder(), builder, meterRegistry, observationRegistry);
+
+        assertThrows(GitHubApiErrorHandler.class,
+                () -> failingClient.searchRepositories("Java", LocalDate.of(2024, 1, 1)));
+    }
+
+    @Test
+    void testSearchRepositories_rejectsResponseLargerThanMaxResponseSize() {
+        WebClient.Builder builder = WebClient.builder().exchangeFunction(request ->
+                Mono.just(jsonResponse(pageJson(100, 100))));
+        GitHubAPIClient limitedClient = new GitHubAPIClient("https://api.github.com", 100, 1, 1, 200, DataSize.ofBytes(64), 2, Duration.ofMillis(1), rateLimiter(), new SearchResponseDecoder(), builder, meterRegistry, observationRegistry);
+
+        assertThrows(GitHubApiErrorHandler.class,
+                () -> limitedClient.searchRepositories("Java", LocalDate.of(2024, 1, 1)));
+        assertEquals(0, meterRegistry.get("github.api.decode").timer().count());
+    }
+
+    @Test
+    void testSearchRepositories_retriesTransientFailures() {
+        AtomicInteger requests = new AtomicInteger();
+        WebClient.Builder builder = WebClient.builder().exchangeFunction(request -> {
+            if (requests.getAndIncrement() == 0) {
+                return Mono.just(ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).build());
+            }
+            return Mono.just(jsonResponse("""
+                    {"total_count": 1, "incomplete_results": false, "items": [{"id": 7}]}
+                    """));
+        });
+        GitHubAPIClient retryingClient = new GitHubAPIClient("https://api.github.com", 100, 1, 1, 200, DataSize.ofMegabytes(10), 2, Duration.ofMillis(1), rateLimiter(), new SearchResponseDecoder(), builder, meterRegistry, observationRegistry);
+
+        SearchResponse response = retryingClient.searchRepositories("Java", LocalDate.of(2024, 1, 1));
+
+        assertEquals(2, requests.get());
+        assertEquals(List.of(7L), response.items().stream().map(RepoItem::id).toList());
+        assertEquals(1, meterRegistry.get("github.api.requests").tags("status", "503", "outcome", "SERVER_ERROR").timer().count());
+        assertEquals(1, meterRegistry.get("github.api.requests").tags("status", "200", "outcome", "SUCCESS").timer().count());
+        assertEquals(1, meterRegistry.get("github.api.decode").timer().count());
+    }
+
+    @Test
+    void testSearchRepositories_givesUpAfterMaxRetries() {
+        AtomicInteger requests = new AtomicInteger();
+        WebClient.Builder builder = WebClient.builder().exchangeFunction(request -> {
+            requests.incrementAndGet();
+            return Mono.just(ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).build());
+        });
+        GitHubAPIClient retryingClient = new GitHubAPIClient("https://api.github.com", 100, 1, 1, 200, DataSize.ofMegabytes(10), 2, Duration.ofMillis(1), rateLimiter(), new SearchResponseDecoder(), builder, meterRegistry, observationRegistry);
+
+        assertThrows(GitHubApiErrorHandler.class,
+                () -> retryingClient.searchRepositories("Java", LocalDate.of(2024, 1, 1)));
+        assertEquals(3, requests.get());
+    }
+
+    @Test
+    void testSearchRepositories_updatesRateLimiterFromResponseHeaders() {
+        GitHubRateLimiter rateLimiter = rateLimiter();
+        WebClient.Builder builder = WebClient.builder().exchangeFunction(request ->
+                Mono.just(ClientResponse.create(HttpStatus.OK)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .header("X-RateLimit-Remaining", "4")
+                        .body("""
+                                {"total_count": 0, "incomplete_results": false, "items": []}
+                                """)
+                        .build()));
+        GitHubAPIClient client = new GitHubAPIClient("https://api.github.com", 100, 1, 1, 200, DataSize.ofMegabytes(10), 2, Duration.ofMillis(1), rateLimiter, new SearchResponseDecoder(), builder, meterRegistry, observationRegistry);
+
+        client.searchRepositories("Java", LocalDate.of(2024, 1, 1));
+
+        assertEquals(4.0, rateLimiter.getRemainingQuota());
+    }
+
+    private static GitHubRateLimiter rateLimiter() {
+        return new GitHubRateLimiter(6000, 100, Duration.ofSeconds(5), new SimpleMeterRegistry());
+    }
+
+    private static String pageJson(int totalCount, int items) {
+        String itemsJson = IntStream.rangeClosed(1, items)
+                .mapToObj(id -> STR."{\"id\": \{id}}")
+                .collect(Collectors.joining(", "));
+        return STR."""
+                {"total_count": \{totalCount}, "incomplete_results": false, "items": [\{itemsJson}]}
+                """;
+    }
+
+    private static ClientResponse jsonResponse(String body) {
+        return ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(body)
+                .build();
+    }
+}
@@ -0,0 +1,117 @@
+package com.assignment.githubscore.service;
+
+import com.assignment.githubscore.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import reactor.core.Disposable;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GitHubRateLimiterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void acquire_ShouldGrantPermitsImmediatelyWithinCapacity() {
+        GitHubRateLimiter rateLimiter = new GitHubRateLimiter(3, 10, Duration.ofSeconds(30), meterRegistry);
+
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.acquire().block(Duration.ofMillis(100));
+        }
+
+        assertEquals(0, rateLimiter.getQueueDepth());
+    }
+
+    @Test
+    void acquire_ShouldQueueRequestsOnceBucketIsEmpty() {
+        GitHubRateLimiter rateLimiter = new GitHubRateLimiter(600, 10, Duration.ofSeconds(30), meterRegistry);
+        for (int i = 0; i < 600; i++) {
+            rateLimiter.acquire().block();
+        }
+
+        long start = System.nanoTime();
+        rateLimiter.acquire().block();
+        long waitedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        assertTrue(waitedMillis >= 50, STR."waited only \{waitedMillis} ms");
+        assertEquals(0, rateLimiter.getQueueDepth());
+    }
+
+    @Test
+    void acquire_ShouldRejectWhenQueueIsFull() {
+        GitHubRateLimiter rateLimiter = new GitHubRateLimiter(1, 0, Duration.ofSeconds(30), meterRegistry);
+        rateLimiter.acquire().block();
+
+        assertThrows(RateLimitExceededException.class, () -> rateLimiter.acquire().block());
+        assertEquals(1.0, meterRegistry.get("github.api.ratelimit.rejected").counter().count());
+    }
+
+    @Test
+    void acquire_ShouldRejectWhenWaitExceedsMaxWait() {
+        GitHubRateLimiter rateLimiter = new GitHubRateLimiter(1, 10, Duration.ofSeconds(1), meterRegistry);
+        rateLimiter.acquire().block();
+
+        assertThrows(RateLimitExceededException.class, () -> rateLimiter.acquire().block());
+    }
+
+    @Test
+    void acquire_ShouldReturnPermitOfCancelledRequest() {
+        GitHubRateLimiter rateLimiter = new GitHubRateLimiter(60, 10, Duration.ofMillis(1500), meterRegistry);
+        for (int i = 0; i < 60; i++) {
+            rateLimiter.acquire().block();
+        }
+
+        // Waits about a second for the next permit; a second waiter would need two and be rejected.
+        rateLimiter.acquire().subscribe().dispose();
+        Disposable waiting = rateLimiter.acquire().subscribe();
+
+        assertEquals(1, rateLimiter.getQueueDepth());
+        waiting.dispose();
+        assertEquals(0, rateLimiter.getQueueDepth());
+    }
+
+    @Test
+    void update_ShouldBlockUntilResetWhenQuotaIsExhausted() {
+        GitHubRateLimiter rateLimiter = new GitHubRateLimiter(30, 10, Duration.ofSeconds(30), meterRegistry);
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-RateLimit-Remaining", "0");
+        headers.set("X-RateLimit-Reset", String.valueOf(Instant.now().plusSeconds(120).getEpochSecond()));
+
+        rateLimiter.update(headers);
+
+        assertEquals(0.0, rateLimiter.getRemainingQuota());
+        assertEquals(0.0, meterRegistry.get("github.api.ratelimit.remaining").gauge().value());
+        assertThrows(RateLimitExceededException.class, () -> rateLimiter.acquire().block());
+    }
+
+    @Test
+    void getAvailablePermits_ShouldReflectTakenAndBlockedPermits() {
+        GitHubRateLimiter rateLimiter = new GitHubRateLimiter(3, 10, Duration.ofSeconds(30), meterRegistry);
+        rateLimiter.acquire().block();
+
+        assertEquals(2.0, rateLimiter.getAvailablePermits(), 0.01);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "60");
+        rateLimiter.update(headers);
+
+        assertEquals(0.0, rateLimiter.getAvailablePermits());
+    }
+
+    @Test
+    void update_ShouldHonourRetryAfter() {
+        GitHubRateLimiter rateLimiter = new GitHubRateLimiter(30, 10, Duration.ofSeconds(30), meterRegistry);
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "60");
+
+        rateLimiter.update(headers);
+
+        assertThrows(RateLimitExceededException.class, () -> rateLimiter.acquire().block());
+    }
+}
@@ -1,26 +1,45 @@
 package com.assignment.githubscore.service;
 
+import com.assignment.githubscore.dto.ProfileRankingDTO;
+import com.assignment.githubscore.dto.RankedRepositoryDTO;
 import com.assignment.githubscore.dto.RepoItemDTO;
+import com.assignment.githubscore.dto.RepoItemPageDTO;
+import com.assignment.githubscore.dto.UserPreferencesDTO;
+import com.assignment.githubscore.dto.WeightProfileDTO;
+import com.assignment.githubscore.dto.WhatIfScoringRequestDTO;
 import com.assignment.githubscore.entity.RepositoryScore;
 import com.assignment.githubscore.exception.GitHubApiErrorHandler;
+import com.assignment.githubscore.exception.IllegalArgumentException;
 import com.assignment.githubscore.mapper.GitHubDtoMapper;
 import com.assignment.githubscore.model.RepoItem;
+import com.assignment.githubscore.model.SearchQuery;
 import com.assignment.githubscore.model.SearchResponse;
 import com.assignment.githubscore.repository.RepositoryScoreRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 
 import static java.util.Collections.emptyList;
 import static org.junit.Assert.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,14 +52,35 @@ class GitHubRepositoryServiceTest {
     GitHubDtoMapper gitHubDtoMapper;
 
     @Mock
-    private GitHubAPIClient gitHubAPIClient;
+    private SearchResponseCache searchResponseCache;
 
     @Mock
     private RepositoryScoreRepository repositoryScoreRepository;
 
-    @InjectMocks
+    @Mock
+    private ScoreWriteBehindQueue scoreWriteBehindQueue;
+
+    @Mock
+    private PreviousScoreIndex previousScoreIndex;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     private GitHubRepositoryService gitHubRepositoryService;
 
+    @BeforeEach
+    void setUp() {
+        gitHubRepositoryService = new GitHubRepositoryService(searchResponseCache, gitHubDtoMapper, scoringService,
+                repositoryScoreRepository, scoreWriteBehindQueue, previousScoreIndex, Schedulers.immediate(), meterRegistry);
+        lenient().when(previousScoreIndex.getAll(any())).thenAnswer(invocation -> {
+            double[] previousScores = new double[invocation.<long[]>getArgument(0).length];
+            Arrays.fill(previousScores, Double.NaN);
+            return previousScores;
+        });
+        lenient().when(scoringService.createContext(anyInt(), anyInt(), any(), anyLong())).thenAnswer(invocation ->
+                ScoringContext.of(LocalDateTime.now(), invocation.getArgument(2), invocation.getArgument(0),
+                        invocation.getArgument(1), new UserPreferencesDTO(invocation.getArgument(3), 0.5, 0.3, 0.2)));
+    }
+
     @Test
     void getFilteredRepositories_ShouldFetchRepositoriesAndMapToDTO() {
         String language = "java";
@@ -50,12 +90,36 @@ class GitHubRepositoryServiceTest {
         RepoItem item = createRepoItem(1, 100, 50, LocalDateTime.now().minusDays(1));
         SearchResponse searchResponse = new SearchResponse(1, false, List.of(item));
 
-        when(gitHubAPIClient.searchRepositories(language, earliestCreatedDate)).thenReturn(searchResponse);
+        when(searchResponseCache.getSearchResponse(language, earliestCreatedDate)).thenReturn(searchResponse);
+        when(scoringService.calculatePopularityScores(anyList(), any()))
+                .thenReturn(new double[]{0.8});
 
         List<RepoItemDTO> result = gitHubRepositoryService.getFilteredRepositories(language, earliestCreatedDate, userId);
 
         assertEquals(1, result.size());
-        verify(repositoryScoreRepository).save(any(RepositoryScore.class));
+        verify(scoringService, times(1)).calculatePopularityScores(anyList(), any());
+        verify(scoreWriteBehindQueue).enqueue(anyList());
+    }
+
+    @Test
+    void getFilteredRepositories_ShouldRecordStageTimingsAndSearchSize() {
+        String language = "java";
+        LocalDate earliestCreatedDate = LocalDate.now().minusDays(30);
+        List<RepoItem> items = List.of(
+                createRepoItem(1, 100, 50, LocalDateTime.now().minusDays(1)),
+                createRepoItem(2, 10, 5, LocalDateTime.now().minusDays(2)));
+
+        when(searchResponseCache.getSearchResponse(language, earliestCreatedDate)).thenReturn(new SearchResponse(2, false, items));
+        when(previousScoreIndex.isWarm()).thenReturn(true);
+        when(scoringService.calculatePopularityScores(anyList(), any())).thenReturn(new double[]{0.8, 0.2});
+
+        gitHubRepositoryService.getFilteredRepositories(language, earliestCreatedDate, 1L);
+
+        for (String stage : List.of("fetch", "previous-scores", "scoring", "mapping", "persistence")) {
+            assertEquals(1, meterRegistry.get("github.search.stage").tag("stage", stage).timer().count(), stage);
+        }
+        assertEquals(2.0, meterRegistry.get("github.search.items").summary().totalAmount());
+        verify(repositoryScoreRepository, never()).findByRepoIdIn(anyCollection());
     }
 
     @Test
@@ -66,12 +130,58 @@ class GitHubRepositoryServiceTest {
 
         SearchResponse searchResponse = new SearchResponse(1, false, emptyList());
 
-        when(gitHubAPIClient.searchRepositories(language, earliestCreatedDate)).thenReturn(searchResponse);
+        when(searchResponseCache.getSearchResponse(language, earliestCreatedDate)).thenReturn(searchResponse);
 
         List<RepoItemDTO> result = gitHubRepositoryService.getFilteredRepositories(language, earliestCreatedDate, userId);
 
         assertEquals(0, result.size());
-        verify(repositoryScoreRepository, never()).save(any(RepositoryScore.class));
+        verify(scoreWriteBehindQueue, never()).enqueue(anyList());
+    }
+
+    @Test
+    void getFilteredRepositories_ShouldTakePreviousScoresFromWarmIndexOnly() {
+        String language = "java";
+        LocalDate earliestCreatedDate = LocalDate.now().minusDays(30);
+
+        RepoItem item = createRepoItem(1, 100, 50, LocalDateTime.now().minusDays(1));
+        SearchResponse searchResponse = new SearchResponse(1, false, List.of(item));
+
+        when(searchResponseCache.getSearchResponse(language, earliestCreatedDate)).thenReturn(searchResponse);
+        when(previousScoreIndex.isWarm()).thenReturn(true);
+        when(previousScoreIndex.getAll(new long[]{1})).thenReturn(new double[]{0.5});
+        when(scoringService.calculatePopularityScores(anyList(), any()))
+                .thenReturn(new double[]{0.7});
+
+        gitHubRepositoryService.getFilteredRepositories(language, earliestCreatedDate, 1L);
+
+        verify(gitHubDtoMapper).toRepoItemDTO(item, 0.7, "Up");
+        verify(previousScoreIndex).putAll(anyList());
+        verifyNoInteractions(repositoryScoreRepository);
+    }
+
+    @Test
+    void getFilteredRepositories_ShouldLookUpOnlyUnindexedScoresBeforeIndexIsWarm() {
+        String language = "java";
+        LocalDate earliestCreatedDate = LocalDate.now().minusDays(30);
+
+        RepoItem indexed = createRepoItem(1, 100, 50, LocalDateTime.now().minusDays(1));
+        RepoItem stored = createRepoItem(2, 100, 50, LocalDateTime.now().minusDays(1));
+        SearchResponse searchResponse = new SearchResponse(2, false, List.of(indexed, stored));
+
+        RepositoryScore storedScore = new RepositoryScore();
+        storedScore.setRepoId(2);
+        storedScore.setPopularityScore(0.9);
+
+        when(searchResponseCache.getSearchResponse(language, earliestCreatedDate)).thenReturn(searchResponse);
+        when(previousScoreIndex.getAll(new long[]{1, 2})).thenReturn(new double[]{0.5, Double.NaN});
+        when(repositoryScoreRepository.findByRepoIdIn(Set.of(2L))).thenReturn(List.of(storedScore));
+        when(scoringService.calculatePopularityScores(anyList(), any()))
+                .thenReturn(new double[]{0.7, 0.7});
+
+        gitHubRepositoryService.getFilteredRepositories(language, earliestCreatedDate, 1L);
+
+        verify(gitHubDtoMapper).toRepoItemDTO(indexed, 0.7, "Up");
+        verify(gitHubDtoMapper).toRepoItemDTO(stored, 0.7, "Down");
     }
 
     @Test
@@ -79,11 +189,239 @@ class GitHubRepositoryServiceTest {
         String language = "java";
         LocalDate earliestCreatedDate = LocalDate.now().minusDays(30);
 
-        when(gitHubAPIClient.searchRepositories(language, earliestCreatedDate)).thenThrow(new GitHubApiErrorHandler("API error"));
+        when(searchResponseCache.getSearchResponse(language, earliestCreatedDate)).thenThrow(new GitHubApiErrorHandler("API error"));
 
         assertThrows(RuntimeException.class, () -> gitHubRepositoryService.getFilteredRepositories(language, earliestCreatedDate, 1L));
     }
 
+    @Test
+    void getFilteredRepositoriesReactive_ShouldFetchScoreAndPersistWithoutBlockingCall() {
+        String language = "java";
+        LocalDate earliestCreatedDate = LocalDate.now().minusDays(30);
+        long userId = 1L;
+
+        RepoItem item = createRepoItem(1, 100, 50, LocalDateTime.now().minusDays(1));
+        SearchResponse searchResponse = new SearchResponse(1, false, List.of(item));
+        GitHubRepositoryService reactiveService = new GitHubRepositoryService(
+                searchResponseCache, gitHubDtoMapper, scoringService, repositoryScoreRepository, scoreWriteBehindQueue, previousScoreIndex, Schedulers.immediate(),
+                meterRegistry);
+
+        when(searchResponseCache.getSearchResponseReactive(language, earliestCreatedDate)).thenReturn(Mono.just(searchResponse));
+        when(scoringService.calculatePopularityScores(anyList(), any()))
+                .thenReturn(new double[]{0.8});
+
+        List<RepoItemDTO> result = reactiveService.getFilteredRepositoriesReactive(language, earliestCreatedDate, userId).block();
+
+        assertEquals(1, result.size());
+        verify(searchResponseCache, never()).getSearchResponse(any(), any());
+        verify(scoreWriteBehindQueue).enqueue(anyList());
+    }
+
+    @Test
+    void getFilteredRepositoriesReactive_ShouldPropagateFetchFailure() {
+        String language = "java";
+        LocalDate earliestCreatedDate = LocalDate.now().minusDays(30);
+        GitHubRepositoryService reactiveService = new GitHubRepositoryService(
+                searchResponseCache, gitHubDtoMapper, scoringService, repositoryScoreRepository, scoreWriteBehindQueue, previousScoreIndex, Schedulers.immediate(),
+                meterRegistry);
+
+        when(searchResponseCache.getSearchResponseReactive(language, earliestCreatedDate))
+                .thenReturn(Mono.error(new GitHubApiErrorHandler("API error")));
+
+        assertThrows(RuntimeException.class,
+                () -> reactiveService.getFilteredRepositoriesReactive(language, earliestCreatedDate, 1L).block());
+        verify(scoreWriteBehindQueue, never()).enqueue(anyList());
+    }
+
+    @Test
+    void streamFilteredRepositories_ShouldScoreAndEmitRepositoriesInChunks() {
+        LocalDate earliestCreatedDate = LocalDate.now().minusDays(30);
+        List<RepoItem> items = IntStream.rangeClosed(1, 250)
+                .mapToObj(id -> createRepoItem(id, id, 250 - id, LocalDateTime.now().minusDays(1)))
+                .toList();
+        GitHubRepositoryService streamingService = new GitHubRepositoryService(
+                searchResponseCache, gitHubDtoMapper, scoringService, repositoryScoreRepository, scoreWriteBehindQueue, previousScoreIndex, Schedulers.immediate(),
+                meterRegistry);
+        GitHubDtoMapper realMapper = new GitHubDtoMapper();
+
+        when(searchResponseCache.getSearchResponseReactive("java", earliestCreatedDate))
+                .thenReturn(Mono.just(new SearchResponse(items.size(), false, items)));
+        ScoringContext context = ScoringContext.of(LocalDateTime.now(), earliestCreatedDate, 250, 249, new UserPreferencesDTO(1L, 0.5, 0.3, 0.2));
+        when(scoringService.createContext(250, 249, earliestCreatedDate, 1L)).thenReturn(context);
+        when(scoringService.calculatePopularityScores(anyList(), eq(context)))
+                .thenAnswer(invocation -> new double[invocation.<List<RepoItem>>getArgument(0).size()]);
+        when(gitHubDtoMapper.toRepoItemDTO(any(), anyDouble(), any())).thenAnswer(invocation -> realMapper.toRepoItemDTO(
+                invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2)));
+
+        List<RepoItemDTO> result = streamingService.streamFilteredRepositories("java", earliestCreatedDate, 1L).collectList().block();
+
+        assertEquals(LongStream.rangeClosed(1, 250).boxed().toList(), result.stream().map(RepoItemDTO::id).toList());
+        verify(scoringService, times(1)).createContext(250, 249, earliestCreatedDate, 1L);
+        verify(scoringService, times(3)).calculatePopularityScores(anyList(), eq(context));
+        verify(scoreWriteBehindQueue, times(3)).enqueue(argThat(scores -> scores.stream()
+                .allMatch(score -> score.getRecordedAt().equals(context.now()))));
+    }
+
+    @Test
+    void streamFilteredRepositories_ShouldCompleteEmptyWithoutResults() {
+        LocalDate earliestCreatedDate = LocalDate.now().minusDays(30);
+        when(searchResponseCache.getSearchResponseReactive("java", earliestCreatedDate)).thenReturn(Mono.empty());
+
+        List<RepoItemDTO> result = gitHubRepositoryService.streamFilteredRepositories("java", earliestCreatedDate, 1L).collectList().block();
+
+        assertEquals(0, result.size());
+        verifyNoInteractions(scoringService, scoreWriteBehindQueue);
+    }
+
+    @Test
+    void rankForProfiles_ShouldRankEveryProfileFromOneFetchWithoutRecordingScores() {
+        LocalDate earliestCreatedDate = LocalDate.now().minusDays(30);
+        List<RepoItem> items = List.of(
+                createRepoItem(1, 100, 0, LocalDateTime.now().minusDays(1)),
+                createRepoItem(2, 10, 50, LocalDateTime.now().minusDays(1)),
+                createRepoItem(3, 50, 25, LocalDateTime.now().minusDays(1)));
+        WeightProfileDTO forksOnly = new WeightProfileDTO("forks", 0.0, 1.0, 0.0);
+        WeightProfileDTO unnamed = new WeightProfileDTO(null, 0.0, 0.0, 1.0);
+
+        when(searchResponseCache.getSearchResponse("java", earliestCreatedDate)).thenReturn(new SearchResponse(3, false, items));
+        when(scoringService.resolveUserPreferences(7L)).thenReturn(new UserPreferencesDTO(7L, 1.0, 0.0, 0.0));
+        ScoringContext context = ScoringContext.of(LocalDateTime.now(), earliestCreatedDate, 100, 50, null);
+        when(scoringService.createContext(100, 50, earliestCreatedDate)).thenReturn(context);
+        when(scoringService.calculateProfileScores(eq(items), eq(context), anyList()))
+                .thenReturn(new double[][]{{1.0, 0.1, 0.5}, {0.0, 1.0, 0.5}, {1.0, 1.0, 1.0}});
+
+        List<ProfileRankingDTO> rankings = gitHubRepositoryService.rankForProfiles("java", earliestCreatedDate,
+                new WhatIfScoringRequestDTO(List.of(7L), List.of(forksOnly, unnamed)), 2);
+
+        assertEquals(List.of("user:7", "forks", "profile:1"), rankings.stream().map(ranking -> ranking.profile().name()).toList());
+        assertEquals(List.of(1L, 3L), rankings.get(0).repositories().stream().map(RankedRepositoryDTO::id).toList());
+        assertEquals(List.of(2L, 3L), rankings.get(1).repositories().stream().map(RankedRepositoryDTO::id).toList());
+        assertEquals(List.of(1L, 2L), rankings.get(2).repositories().stream().map(RankedRepositoryDTO::id).toList());
+        verify(searchResponseCache, times(1)).getSearchResponse("java", earliestCreatedDate);
+        verifyNoInteractions(scoreWriteBehindQueue, previousScoreIndex, repositoryScoreRepository);
+    }
+
+    @Test
+    void rankForProfiles_ShouldRejectMissingOrTooManyProfiles() {
+        LocalDate earliestCreatedDate = LocalDate.now().minusDays(30);
+        List<Long> tooManyUsers = LongStream.rangeClosed(1, GitHubRepositoryService.MAX_WHAT_IF_PROFILES + 1).boxed().toList();
+
+        assertThrows(IllegalArgumentException.class, () -> gitHubRepositoryService.rankForProfiles("java", earliestCreatedDate,
+                new WhatIfScoringRequestDTO(null, List.of()), 30));
+        assertThrows(IllegalArgumentException.class, () -> gitHubRepositoryService.rankForProfiles("java", earliestCreatedDate,
+                new WhatIfScoringRequestDTO(tooManyUsers, null), 30));
+        verifyNoInteractions(searchResponseCache, scoringService);
+    }
+
+    @Test
+    void rankForProfiles_ShouldRejectNegativeOrNonFiniteWeights() {
+        LocalDate earliestCreatedDate = LocalDate.now().minusDays(30);
+
+        for (WeightProfileDTO weightProfile : List.of(new WeightProfileDTO("negative", -0.1, 0.5, 0.5),
+                new WeightProfileDTO("nan", 0.5, Double.NaN, 0.5),
+                new WeightProfileDTO("infinite", 0.5, 0.5, Double.POSITIVE_INFINITY))) {
+            assertThrows(IllegalArgumentException.class, () -> gitHubRepositoryService.rankForProfiles("java", earliestCreatedDate,
+                    new WhatIfScoringRequestDTO(List.of(1L), List.of(weightProfile)), 30));
+        }
+        verifyNoInteractions(searchResponseCache, scoringService);
+    }
+
+    @Test
+    void refreshRepositories_ShouldRefetchAndRecordScores() {
+        SearchQuery query = SearchQuery.of("java", LocalDate.now().minusDays(30));
+        RepoItem item = createRepoItem(1, 100, 50, LocalDateTime.now().minusDays(1));
+        SearchResponse searchResponse = new SearchResponse(1, false, List.of(item));
+        GitHubRepositoryService refreshingService = new GitHubRepositoryService(
+                searchResponseCache, gitHubDtoMapper, scoringService, repositoryScoreRepository, scoreWriteBehindQueue, previousScoreIndex, Schedulers.immediate(),
+                meterRegistry);
+
+        when(searchResponseCache.refresh(query)).thenReturn(Mono.just(searchResponse));
+        ScoringContext context = ScoringContext.of(LocalDateTime.now(), query.earliestCreatedDate(), 100, 50, new UserPreferencesDTO(7L, 0.5, 0.3, 0.2));
+        when(scoringService.createContext(100, 50, query.earliestCreatedDate(), 7L)).thenReturn(context);
+        when(scoringService.calculatePopularityScores(List.of(item), context)).thenReturn(new double[]{0.8});
+
+        refreshingService.refreshRepositories(query, 7L).block();
+
+        verify(searchResponseCache, never()).getSearchResponseReactive(any(), any());
+        verify(previousScoreIndex).putAll(anyList());
+        verify(scoreWriteBehindQueue).enqueue(anyList());
+    }
+
+    @Test
+    void getRepositoryPage_ShouldReturnSortedPageAndTotalCount() {
+        stubSearch(new double[]{0.1, 0.5, 0.3, 0.9, 0.7});
+
+        RepoItemPageDTO page = gitHubRepositoryService.getRepositoryPage("java", LocalDate.now().minusDays(30), 1L,
+                1, 2, "popularityScore", null);
+
+        assertEquals(5, page.totalCount());
+        assertEquals(List.of(0.5, 0.3), page.items().stream().map(RepoItemDTO::popularityScore).toList());
+    }
+
+    @Test
+    void getRepositoryPage_ShouldFilterByMinimumScoreBeforePaging() {
+        stubSearch(new double[]{0.1, 0.5, 0.3, 0.9, 0.7});
+
+        RepoItemPageDTO page = gitHubRepositoryService.getRepositoryPage("java", LocalDate.now().minusDays(30), 1L,
+                0, 10, "stargazersCount,asc", 0.5);
+
+        assertEquals(3, page.totalCount());
+        assertEquals(List.of(2L, 4L, 5L), page.items().stream().map(RepoItemDTO::id).toList());
+    }
+
+    @Test
+    void getRepositoryPage_ShouldKeepGitHubOrderWithoutSort() {
+        stubSearch(new double[]{0.1, 0.5, 0.3});
+
+        RepoItemPageDTO page = gitHubRepositoryService.getRepositoryPage("java", LocalDate.now().minusDays(30), 1L,
+                1, 2, null, null);
+
+        assertEquals(3, page.totalCount());
+        assertEquals(List.of(3L), page.items().stream().map(RepoItemDTO::id).toList());
+    }
+
+    @Test
+    void getAllRepositories_ShouldReturnEveryRepositoryBeyondTheMaximumPageSize() {
+        double[] popularityScores = new double[GitHubRepositoryService.MAX_PAGE_SIZE + 20];
+        Arrays.fill(popularityScores, 0.5);
+        stubSearch(popularityScores);
+
+        RepoItemPageDTO page = gitHubRepositoryService.getAllRepositories("java", LocalDate.now().minusDays(30), 1L,
+                null, null);
+
+        assertEquals(popularityScores.length, page.totalCount());
+        assertEquals(LongStream.rangeClosed(1, popularityScores.length).boxed().toList(),
+                page.items().stream().map(RepoItemDTO::id).toList());
+    }
+
+    @Test
+    void getAllRepositories_ShouldSortAndFilterByMinimumScore() {
+        stubSearch(new double[]{0.1, 0.5, 0.3, 0.9, 0.7});
+
+        RepoItemPageDTO page = gitHubRepositoryService.getAllRepositories("java", LocalDate.now().minusDays(30), 1L,
+                "popularityScore", 0.3);
+
+        assertEquals(4, page.totalCount());
+        assertEquals(List.of(0.9, 0.7, 0.5, 0.3), page.items().stream().map(RepoItemDTO::popularityScore).toList());
+    }
+
+    @Test
+    void getRepositoryPage_ShouldRejectInvalidPageSizeOrSort() {
+        LocalDate earliestCreatedDate = LocalDate.now().minusDays(30);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> gitHubRepositoryService.getRepositoryPage("java", earliestCreatedDate, 1L, -1, 30, null, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> gitHubRepositoryService.getRepositoryPage("java", earliestCreatedDate, 1L, 0, 0, null, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> gitHubRepositoryService.getRepositoryPage("java", earliestCreatedDate, 1L, 0, GitHubRepositoryService.MAX_PAGE_SIZE + 1, null, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> gitHubRepositoryService.getRepositoryPage("java", earliestCreatedDate, 1L, 0, 30, "name", null));
+        assertThrows(IllegalArgumentException.class,
+                () -> gitHubRepositoryService.getRepositoryPage("java", earliestCreatedDate, 1L, 0, 30, "forksCount,up", null));
+        verifyNoInteractions(searchResponseCache);
+    }
+
     @Test
     void determineTrend_ShouldReturnCorrectTrend() {
         assertEquals("Up", gitHubRepositoryService.determineTrend(200.0d, 150.0d));
@@ -92,15 +430,23 @@ class GitHubRepositoryServiceTest {
         assertEquals("N/A", gitHubRepositoryService.determineTrend(150.0d, 0.0d));
     }
 
+    /**
+     * Stubs a search returning one repository per score, with IDs and star counts counting up from 1.
+     */
+    private void stubSearch(double[] popularityScores) {
+        List<RepoItem> items = IntStream.rangeClosed(1, popularityScores.length)
+                .mapToObj(id -> createRepoItem(id, id, 0, LocalDateTime.now().minusDays(1)))
+                .toList();
+        GitHubDtoMapper realMapper = new GitHubDtoMapper();
+        when(searchResponseCache.getSearchResponse(any(), any())).thenReturn(new SearchResponse(items.size(), false, items));
+        when(scoringService.calculatePopularityScores(anyList(), any()))
+                .thenReturn(popularityScores);
+        when(gitHubDtoMapper.toRepoItemDTO(any(), anyDouble(), any())).thenAnswer(invocation -> realMapper.toRepoItemDTO(
+                invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2)));
+    }
+
     private RepoItem createRepoItem(int id, int stargazersCount, int forksCount, LocalDateTime updatedAt) {
-        return new RepoItem(
-                id, "", "Test Repo", "", null, false, "", "", false, "",
-                "", updatedAt.toString(), "", "", 0, stargazersCount, 0, "", forksCount, 0,
-                "", "", 0.0, "", "", "", "", "", "", "", "", "", "", "", "", "", "", "", "", "", "",
-                "", "", "", "", "", "", "", "", "", "", "", "", "", "", "", "", "", "", "", "",
-                "", "", 0, 0, 0, null, "", false, false, false, false, false, false, false, false, "", null, null,
-                null, "", false, false, false, false, false, false,
-                false, false
-        );
+        return new RepoItem(id, "", "Test Repo", "", false, "", false, "", updatedAt.toString(),
+                stargazersCount, "", forksCount, false, false);
     }
 }
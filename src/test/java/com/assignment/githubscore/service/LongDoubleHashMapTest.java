@@ -0,0 +1,75 @@
+package com.assignment.githubscore.service;
+
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.RepetitionInfo;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LongDoubleHashMapTest {
+
+    @RepeatedTest(20)
+    void operations_ShouldMatchHashMap(RepetitionInfo repetitionInfo) {
+        Random random = new Random(repetitionInfo.getCurrentRepetition());
+        // A tiny key range forces collisions and overwrites, a huge one spreads keys over the whole hash range.
+        long keyBound = random.nextBoolean() ? 500 : Long.MAX_VALUE;
+        LongDoubleHashMap map = new LongDoubleHashMap(1);
+        Map<Long, Double> expected = new HashMap<>();
+
+        for (int i = 0; i < 20_000; i++) {
+            long key = random.nextInt(10) == 0 ? -random.nextLong(keyBound) : random.nextLong(keyBound);
+            double value = random.nextDouble();
+            if (random.nextBoolean()) {
+                map.put(key, value);
+                expected.put(key, value);
+            } else {
+                map.putIfAbsent(key, value);
+                expected.putIfAbsent(key, value);
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        expected.forEach((key, value) -> assertEquals(value, map.get(key, Double.NaN)));
+        for (int i = 0; i < 1000; i++) {
+            long key = random.nextLong();
+            assertEquals(expected.getOrDefault(key, -1.0), map.get(key, -1.0));
+        }
+    }
+
+    @Test
+    void put_ShouldStoreZeroKey() {
+        LongDoubleHashMap map = new LongDoubleHashMap(16);
+
+        map.putIfAbsent(0, 0.5);
+        map.putIfAbsent(0, 0.7);
+
+        assertEquals(0.5, map.get(0, Double.NaN));
+        assertEquals(1, map.size());
+        map.put(0, 0.9);
+        assertEquals(0.9, map.get(0, Double.NaN));
+    }
+
+    @Test
+    void capacityFor_ShouldStayWithinLoadFactor() {
+        assertEquals(16, LongDoubleHashMap.capacityFor(0));
+        assertEquals(1 << 21, LongDoubleHashMap.capacityFor(1_000_000));
+        assertEquals(1 << 24, LongDoubleHashMap.capacityFor(10_000_000));
+    }
+
+    @Test
+    void put_ShouldNotGrowWhenSizedUpFront() {
+        LongDoubleHashMap map = new LongDoubleHashMap(10_000);
+        int capacity = map.capacity();
+
+        for (long key = 1; key <= 10_000; key++) {
+            map.put(key, key);
+        }
+
+        assertEquals(capacity, map.capacity());
+        assertEquals(10_000, map.size());
+    }
+}
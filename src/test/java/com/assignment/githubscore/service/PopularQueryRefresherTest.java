@@ -0,0 +1,112 @@
+package com.assignment.githubscore.service;
+
+import com.assignment.githubscore.exception.GitHubApiErrorHandler;
+import com.assignment.githubscore.model.SearchQuery;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PopularQueryRefresherTest {
+
+    private static final LocalDate EARLIEST_CREATED_DATE = LocalDate.of(2024, 1, 1);
+    private static final SearchQuery JAVA = SearchQuery.of("java", EARLIEST_CREATED_DATE);
+    private static final SearchQuery GO = SearchQuery.of("go", EARLIEST_CREATED_DATE);
+    private static final SearchQuery RUST = SearchQuery.of("rust", EARLIEST_CREATED_DATE);
+
+    @Mock
+    private SearchResponseCache searchResponseCache;
+
+    @Mock
+    private GitHubRepositoryService gitHubRepositoryService;
+
+    @Mock
+    private GitHubRateLimiter gitHubRateLimiter;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PopularQueryTracker popularQueryTracker = new PopularQueryTracker(100);
+
+    private PopularQueryRefresher popularQueryRefresher;
+
+    @BeforeEach
+    void setUp() {
+        popularQueryRefresher = new PopularQueryRefresher(popularQueryTracker, searchResponseCache, gitHubRepositoryService,
+                gitHubRateLimiter, 2, Duration.ofMinutes(2), 2, 5, 1, meterRegistry);
+        record(JAVA, 3, 1L);
+        record(GO, 2, 2L);
+        record(RUST, 1, 3L);
+        lenient().when(gitHubRepositoryService.refreshRepositories(any(), anyLong())).thenReturn(Mono.empty());
+    }
+
+    @Test
+    void refreshPopularQueries_ShouldRefreshDueTopQueriesAsTheirLastUser() {
+        when(gitHubRateLimiter.getAvailablePermits()).thenReturn(10.0);
+        when(searchResponseCache.expiresWithin(JAVA, Duration.ofMinutes(2))).thenReturn(false);
+        when(searchResponseCache.expiresWithin(GO, Duration.ofMinutes(2))).thenReturn(true);
+
+        popularQueryRefresher.refreshPopularQueries();
+
+        verify(gitHubRepositoryService).refreshRepositories(GO, 2L);
+        verify(gitHubRepositoryService, never()).refreshRepositories(JAVA, 1L);
+        verify(gitHubRepositoryService, never()).refreshRepositories(RUST, 3L);
+        assertEquals(1.0, meterRegistry.get("github.search.refresh.refreshed").counter().count());
+        assertEquals(1, popularQueryTracker.topQueries(10).getFirst().hits());
+    }
+
+    @Test
+    void refreshPopularQueries_ShouldKeepReservedPermitsForUsers() {
+        when(gitHubRateLimiter.getAvailablePermits()).thenReturn(6.5);
+        when(searchResponseCache.expiresWithin(any(), any())).thenReturn(true);
+
+        popularQueryRefresher.refreshPopularQueries();
+
+        verify(gitHubRepositoryService).refreshRepositories(JAVA, 1L);
+        verify(gitHubRepositoryService, never()).refreshRepositories(GO, 2L);
+        assertEquals(1.0, meterRegistry.get("github.search.refresh.deferred").counter().count());
+    }
+
+    @Test
+    void refreshPopularQueries_ShouldNotRefreshWhileUsersWaitForPermits() {
+        when(gitHubRateLimiter.getQueueDepth()).thenReturn(1);
+        when(searchResponseCache.expiresWithin(any(), any())).thenReturn(true);
+
+        popularQueryRefresher.refreshPopularQueries();
+
+        verify(gitHubRepositoryService, never()).refreshRepositories(any(), anyLong());
+        assertEquals(2.0, meterRegistry.get("github.search.refresh.deferred").counter().count());
+    }
+
+    @Test
+    void refreshPopularQueries_ShouldCountFailuresAndRefreshRemainingQueries() {
+        when(gitHubRateLimiter.getAvailablePermits()).thenReturn(10.0);
+        when(searchResponseCache.expiresWithin(any(), any())).thenReturn(true);
+        when(gitHubRepositoryService.refreshRepositories(JAVA, 1L)).thenReturn(Mono.error(new GitHubApiErrorHandler("API error")));
+
+        popularQueryRefresher.refreshPopularQueries();
+
+        verify(gitHubRepositoryService).refreshRepositories(GO, 2L);
+        assertEquals(1.0, meterRegistry.get("github.search.refresh.failed").counter().count());
+        assertEquals(1.0, meterRegistry.get("github.search.refresh.refreshed").counter().count());
+    }
+
+    private void record(SearchQuery query, int hits, long userId) {
+        for (int i = 0; i < hits; i++) {
+            popularQueryTracker.record(query.language(), query.earliestCreatedDate(), userId);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.assignment.githubscore.service;
+
+import com.assignment.githubscore.model.SearchQuery;
+import com.assignment.githubscore.service.PopularQueryTracker.PopularQuery;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PopularQueryTrackerTest {
+
+    private static final LocalDate EARLIEST_CREATED_DATE = LocalDate.of(2024, 1, 1);
+
+    @Test
+    void topQueries_ShouldRankNormalizedQueriesByHits() {
+        PopularQueryTracker tracker = new PopularQueryTracker(100);
+
+        tracker.record("java", EARLIEST_CREATED_DATE, 1L);
+        tracker.record(" Java ", EARLIEST_CREATED_DATE, 2L);
+        tracker.record("JAVA", EARLIEST_CREATED_DATE, 3L);
+        tracker.record("go", EARLIEST_CREATED_DATE, 4L);
+        tracker.record("go", EARLIEST_CREATED_DATE, 5L);
+        tracker.record("rust", EARLIEST_CREATED_DATE, 6L);
+
+        assertEquals(List.of(
+                new PopularQuery(SearchQuery.of("java", EARLIEST_CREATED_DATE), 3, 3L),
+                new PopularQuery(SearchQuery.of("go", EARLIEST_CREATED_DATE), 2, 5L)), tracker.topQueries(2));
+    }
+
+    @Test
+    void decay_ShouldHalveHitsAndDropQueriesNoLongerRequested() {
+        PopularQueryTracker tracker = new PopularQueryTracker(100);
+        for (int i = 0; i < 4; i++) {
+            tracker.record("java", EARLIEST_CREATED_DATE, 1L);
+        }
+        tracker.record("go", EARLIEST_CREATED_DATE, 1L);
+
+        tracker.decay();
+
+        assertEquals(List.of(new PopularQuery(SearchQuery.of("java", EARLIEST_CREATED_DATE), 2, 1L)), tracker.topQueries(10));
+        assertEquals(1, tracker.size());
+    }
+
+    @Test
+    void record_ShouldIgnoreNewQueriesOnceLimitIsReached() {
+        PopularQueryTracker tracker = new PopularQueryTracker(2);
+        tracker.record("java", EARLIEST_CREATED_DATE, 1L);
+        tracker.record("go", EARLIEST_CREATED_DATE, 1L);
+
+        tracker.record("rust", EARLIEST_CREATED_DATE, 1L);
+        tracker.record("java", EARLIEST_CREATED_DATE, 1L);
+
+        assertEquals(2, tracker.size());
+        assertEquals(2, tracker.topQueries(1).getFirst().hits());
+    }
+}
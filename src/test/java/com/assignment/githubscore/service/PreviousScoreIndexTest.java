@@ -0,0 +1,87 @@
+package com.assignment.githubscore.service;
+
+import com.assignment.githubscore.entity.RepositoryScore;
+import com.assignment.githubscore.repository.RepositoryScoreRepository;
+import com.assignment.githubscore.repository.RepositoryScoreRepositoryCustom.ScoreConsumer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+@ExtendWith(MockitoExtension.class)
+class PreviousScoreIndexTest {
+
+    @Mock
+    private RepositoryScoreRepository repositoryScoreRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private PreviousScoreIndex previousScoreIndex;
+
+    @BeforeEach
+    void setUp() {
+        previousScoreIndex = new PreviousScoreIndex(repositoryScoreRepository, 16, meterRegistry);
+    }
+
+    @Test
+    void warmUp_ShouldLoadStoredScores() {
+        int storedScores = 20_000;
+        doAnswer(invocation -> {
+            ScoreConsumer consumer = invocation.getArgument(0);
+            for (long repoId = 1; repoId <= storedScores; repoId++) {
+                consumer.accept(repoId, repoId / 100.0);
+            }
+            return null;
+        }).when(repositoryScoreRepository).forEachScore(any());
+
+        assertFalse(previousScoreIndex.isWarm());
+        previousScoreIndex.warmUp();
+
+        assertTrue(previousScoreIndex.isWarm());
+        assertEquals(storedScores, previousScoreIndex.size());
+        assertArrayEquals(new double[]{0.01, 200.0, Double.NaN}, previousScoreIndex.getAll(new long[]{1, storedScores, storedScores + 1}));
+        assertEquals(storedScores, meterRegistry.get("repository.scores.index.size").gauge().value());
+    }
+
+    @Test
+    void warmUp_ShouldKeepScoresComputedWhileLoading() {
+        doAnswer(invocation -> {
+            previousScoreIndex.putAll(List.of(createScore(1, 0.8)));
+            ScoreConsumer consumer = invocation.getArgument(0);
+            consumer.accept(1, 0.2);
+            consumer.accept(2, 0.3);
+            return null;
+        }).when(repositoryScoreRepository).forEachScore(any());
+
+        previousScoreIndex.warmUp();
+
+        assertArrayEquals(new double[]{0.8, 0.3}, previousScoreIndex.getAll(new long[]{1, 2}));
+    }
+
+    @Test
+    void putAll_ShouldReplacePreviousScores() {
+        previousScoreIndex.putAll(List.of(createScore(1, 0.2), createScore(2, 0.3)));
+        previousScoreIndex.putAll(List.of(createScore(1, 0.6)));
+
+        assertArrayEquals(new double[]{0.6, 0.3}, previousScoreIndex.getAll(new long[]{1, 2}));
+        assertEquals((double) LongDoubleHashMap.capacityFor(16) * LongDoubleHashMap.BYTES_PER_SLOT, meterRegistry.get("repository.scores.index.memory").gauge().value());
+    }
+
+    private RepositoryScore createScore(long repoId, double popularityScore) {
+        RepositoryScore repositoryScore = new RepositoryScore();
+        repositoryScore.setRepoId(repoId);
+        repositoryScore.setPopularityScore(popularityScore);
+        return repositoryScore;
+    }
+}
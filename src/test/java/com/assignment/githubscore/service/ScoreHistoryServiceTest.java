@@ -0,0 +1,138 @@
+package com.assignment.githubscore.service;
+
+import com.assignment.githubscore.dto.ScoreHistoryPointDTO;
+import com.assignment.githubscore.exception.IllegalArgumentException;
+import com.assignment.githubscore.repository.ScoreHistoryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ScoreHistoryServiceTest {
+
+    private static final long REPO_ID = 42L;
+    private static final LocalDate TODAY = LocalDate.of(2026, 6, 15);
+
+    @Mock
+    private ScoreHistoryRepository scoreHistoryRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ScoreHistoryService scoreHistoryService;
+
+    @BeforeEach
+    void setUp() {
+        scoreHistoryService = new ScoreHistoryService(scoreHistoryRepository, Duration.ofDays(30), Duration.ofDays(730), 7, 100,
+                Clock.fixed(TODAY.atTime(12, 0).toInstant(ZoneOffset.UTC), ZoneOffset.UTC), meterRegistry);
+    }
+
+    @Test
+    void getScoreHistory_ShouldAppendDailyAggregatesAfterRawScores() {
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2024, 3, 1, 12, 0);
+        ScoreHistoryPointDTO raw = new ScoreHistoryPointDTO(LocalDateTime.of(2024, 2, 20, 8, 0), 0.7, 0.7, 0.7, 1);
+        ScoreHistoryPointDTO daily = new ScoreHistoryPointDTO(LocalDateTime.of(2024, 1, 10, 0, 0), 0.5, 0.4, 0.6, 3);
+        when(scoreHistoryRepository.findRawSeries(REPO_ID, from, to, 50)).thenReturn(List.of(raw));
+        when(scoreHistoryRepository.findDailySeries(REPO_ID, from.toLocalDate(), LocalDate.of(2024, 3, 2), 49)).thenReturn(List.of(daily));
+
+        assertEquals(List.of(raw, daily), scoreHistoryService.getScoreHistory(REPO_ID, from, to, 50));
+    }
+
+    @Test
+    void getScoreHistory_ShouldSkipDailyAggregatesWhenRawScoresFillTheLimit() {
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2024, 3, 1, 0, 0);
+        ScoreHistoryPointDTO raw = new ScoreHistoryPointDTO(LocalDateTime.of(2024, 2, 20, 8, 0), 0.7, 0.7, 0.7, 1);
+        when(scoreHistoryRepository.findRawSeries(REPO_ID, from, to, 1)).thenReturn(List.of(raw));
+
+        assertEquals(List.of(raw), scoreHistoryService.getScoreHistory(REPO_ID, from, to, 1));
+        verify(scoreHistoryRepository, never()).findDailySeries(anyLong(), any(), any(), anyInt());
+    }
+
+    @Test
+    void getScoreHistory_ShouldCapLimitAtConfiguredMaximum() {
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2024, 3, 1, 0, 0);
+
+        scoreHistoryService.getScoreHistory(REPO_ID, from, to, 1_000_000);
+
+        verify(scoreHistoryRepository).findRawSeries(REPO_ID, from, to, 100);
+        verify(scoreHistoryRepository).findDailySeries(REPO_ID, from.toLocalDate(), to.toLocalDate(), 100);
+    }
+
+    @Test
+    void getScoreHistory_ShouldRejectEmptyWindowAndNonPositiveLimit() {
+        LocalDateTime now = LocalDateTime.now();
+
+        assertThrows(IllegalArgumentException.class, () -> scoreHistoryService.getScoreHistory(REPO_ID, now, now, 10));
+        assertThrows(IllegalArgumentException.class, () -> scoreHistoryService.getScoreHistory(REPO_ID, now.minusDays(1), now, 0));
+    }
+
+    @Test
+    void maintainHistory_ShouldDownsampleExpiredPartitionsAndApplyRetention() {
+        LocalDate expired = TODAY.minusDays(31);
+        LocalDate kept = TODAY.minusDays(30);
+        when(scoreHistoryRepository.findPartitionDays()).thenReturn(List.of(kept, expired, TODAY));
+
+        scoreHistoryService.maintainHistory();
+
+        verify(scoreHistoryRepository, times(8)).createPartition(any());
+        verify(scoreHistoryRepository).createPartition(TODAY.plusDays(7));
+        verify(scoreHistoryRepository).rollUpAndDropPartition(expired);
+        verify(scoreHistoryRepository, never()).rollUpAndDropPartition(kept);
+        verify(scoreHistoryRepository).rollUpAndDeleteDefaultPartition(kept.atStartOfDay());
+        verify(scoreHistoryRepository).deleteDailyBefore(TODAY.minusDays(730));
+    }
+
+    @Test
+    void maintainHistory_ShouldContinueWhenAPartitionCannotBeCreated() {
+        doThrow(new DataIntegrityViolationException("partition constraint violated"))
+                .doNothing()
+                .when(scoreHistoryRepository).createPartition(any());
+
+        scoreHistoryService.maintainHistory();
+
+        verify(scoreHistoryRepository).createPartition(TODAY.plusDays(7));
+        verify(scoreHistoryRepository).rollUpAndDeleteDefaultPartition(TODAY.minusDays(30).atStartOfDay());
+        verify(scoreHistoryRepository).deleteDailyBefore(TODAY.minusDays(730));
+        assertEquals(1.0, meterRegistry.get("repository.scores.history.partition.failures").counter().count());
+    }
+
+    @Test
+    void createUpcomingPartitions_ShouldThrowWhenNoPartitionCanBeCreated() {
+        doAnswer(invocation -> {
+            throw new DataIntegrityViolationException(STR."partition of \{invocation.getArgument(0)} not created");
+        }).when(scoreHistoryRepository).createPartition(any());
+
+        DataIntegrityViolationException failure = assertThrows(DataIntegrityViolationException.class,
+                scoreHistoryService::createUpcomingPartitions);
+
+        assertEquals(STR."partition of \{TODAY} not created", failure.getMessage());
+        assertEquals(7, failure.getSuppressed().length);
+        verify(scoreHistoryRepository, times(8)).createPartition(any());
+        assertEquals(8.0, meterRegistry.get("repository.scores.history.partition.failures").counter().count());
+    }
+}
@@ -0,0 +1,168 @@
+package com.assignment.githubscore.service;
+
+import com.assignment.githubscore.entity.RepositoryScore;
+import com.assignment.githubscore.repository.RepositoryScoreRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ScoreWriteBehindQueueTest {
+
+    private static final Duration NEVER = Duration.ofHours(1);
+
+    @Mock
+    private RepositoryScoreRepository repositoryScoreRepository;
+
+    @Mock
+    private ScoreHistoryService scoreHistoryService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ScoreWriteBehindQueue scoreWriteBehindQueue;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        scoreWriteBehindQueue.stop();
+    }
+
+    @Test
+    void enqueue_ShouldUpsertLatestScorePerRepositoryAndRecordEveryScore() throws InterruptedException {
+        scoreWriteBehindQueue = startQueue(100, NEVER, 1000);
+        LocalDateTime now = LocalDateTime.now();
+        RepositoryScore newer = createScore(1, 0.8, now);
+        RepositoryScore other = createScore(2, 0.3, now);
+        RepositoryScore older = createScore(1, 0.5, now.minusMinutes(1));
+
+        scoreWriteBehindQueue.enqueue(List.of(newer, other));
+        scoreWriteBehindQueue.enqueue(List.of(older));
+
+        assertEquals(3, scoreWriteBehindQueue.getQueueDepth());
+        verify(repositoryScoreRepository, never()).upsertAll(anyList());
+
+        scoreWriteBehindQueue.stop();
+
+        verify(repositoryScoreRepository).upsertAll(List.of(newer, other));
+        verify(scoreHistoryService).recordScores(List.of(newer, other, older));
+        assertEquals(1.0, meterRegistry.get("repository.scores.writebehind.coalesced").counter().count());
+        assertEquals(0, scoreWriteBehindQueue.getQueueDepth());
+    }
+
+    @Test
+    void enqueue_ShouldFlushOnceBatchIsFull() {
+        scoreWriteBehindQueue = startQueue(2, NEVER, 1000);
+        List<RepositoryScore> scores = List.of(createScore(1, 0.5, LocalDateTime.now()), createScore(2, 0.6, LocalDateTime.now()));
+
+        scoreWriteBehindQueue.enqueue(scores);
+
+        verify(repositoryScoreRepository, timeout(1000)).upsertAll(scores);
+        verify(scoreHistoryService, timeout(1000)).recordScores(scores);
+    }
+
+    @Test
+    void enqueue_ShouldFlushOnceIntervalHasPassed() {
+        scoreWriteBehindQueue = startQueue(100, Duration.ofMillis(50), 1000);
+        List<RepositoryScore> scores = List.of(createScore(1, 0.5, LocalDateTime.now()));
+
+        scoreWriteBehindQueue.enqueue(scores);
+
+        verify(repositoryScoreRepository, timeout(1000)).upsertAll(scores);
+    }
+
+    @Test
+    void enqueue_ShouldWriteOnCallingThreadWhenQueueIsFull() {
+        scoreWriteBehindQueue = startQueue(10, NEVER, 10);
+        List<Thread> writers = new ArrayList<>();
+        doAnswer(invocation -> writers.add(Thread.currentThread())).when(repositoryScoreRepository).upsertAll(anyList());
+
+        List<RepositoryScore> scores = new ArrayList<>();
+        for (int repoId = 1; repoId <= 10; repoId++) {
+            scores.add(createScore(repoId, 0.5, LocalDateTime.now()));
+        }
+        scoreWriteBehindQueue.enqueue(scores);
+
+        assertEquals(List.of(Thread.currentThread()), writers);
+        assertEquals(0, scoreWriteBehindQueue.getQueueDepth());
+        assertEquals(1.0, meterRegistry.get("repository.scores.writebehind.caller.runs").counter().count());
+    }
+
+    @Test
+    void enqueue_ShouldWriteOnlyOldestBatchOnCallingThreadWhenQueueIsFull() {
+        scoreWriteBehindQueue = startQueue(5, NEVER, 10);
+        Map<Thread, List<RepositoryScore>> writes = new ConcurrentHashMap<>();
+        doAnswer(invocation -> writes.computeIfAbsent(Thread.currentThread(), thread -> new CopyOnWriteArrayList<>())
+                .addAll(invocation.getArgument(0))).when(repositoryScoreRepository).upsertAll(anyList());
+
+        List<RepositoryScore> scores = new ArrayList<>();
+        for (int repoId = 1; repoId <= 12; repoId++) {
+            scores.add(createScore(repoId, 0.5, LocalDateTime.now()));
+        }
+        scoreWriteBehindQueue.enqueue(scores);
+
+        assertEquals(scores.subList(0, 5), writes.get(Thread.currentThread()));
+        verify(repositoryScoreRepository, timeout(1000).times(3)).upsertAll(anyList());
+        assertEquals(2, writes.size());
+    }
+
+    @Test
+    void enqueue_ShouldDropBatchThatCannotBeWritten() {
+        scoreWriteBehindQueue = new ScoreWriteBehindQueue(repositoryScoreRepository, scoreHistoryService,
+                TransactionOperations.withoutTransaction(), 100, NEVER, 1000, meterRegistry);
+        RepositoryScore score = createScore(1, 0.5, LocalDateTime.now());
+        doThrow(new IllegalStateException("database unavailable")).when(repositoryScoreRepository).upsertAll(anyList());
+
+        scoreWriteBehindQueue.enqueue(List.of(score));
+
+        assertEquals(1.0, meterRegistry.get("repository.scores.writebehind.failed").counter().count());
+        assertEquals(0, scoreWriteBehindQueue.getQueueDepth());
+        verify(scoreHistoryService, never()).recordScores(anyList());
+    }
+
+    @Test
+    void stop_ShouldWritePendingScoresOnce() throws InterruptedException {
+        scoreWriteBehindQueue = startQueue(100, NEVER, 1000);
+        RepositoryScore score = createScore(1, 0.5, LocalDateTime.now());
+        scoreWriteBehindQueue.enqueue(List.of(score));
+
+        scoreWriteBehindQueue.stop();
+
+        verify(repositoryScoreRepository).upsertAll(List.of(score));
+        verify(scoreHistoryService).recordScores(List.of(score));
+        assertEquals(1, meterRegistry.get("repository.scores.writebehind.flush").timer().count());
+    }
+
+    private ScoreWriteBehindQueue startQueue(int batchSize, Duration flushInterval, int maxPending) {
+        ScoreWriteBehindQueue queue = new ScoreWriteBehindQueue(repositoryScoreRepository, scoreHistoryService,
+                TransactionOperations.withoutTransaction(), batchSize, flushInterval, maxPending, meterRegistry);
+        queue.start();
+        return queue;
+    }
+
+    private RepositoryScore createScore(long repoId, double popularityScore, LocalDateTime recordedAt) {
+        RepositoryScore repositoryScore = new RepositoryScore();
+        repositoryScore.setRepoId(repoId);
+        repositoryScore.setPopularityScore(popularityScore);
+        repositoryScore.setRecordedAt(recordedAt);
+        return repositoryScore;
+    }
+}
@@ -0,0 +1,102 @@
+package com.assignment.githubscore.service;
+
+import com.assignment.githubscore.dto.UserPreferencesDTO;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.RepetitionInfo;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ScoringKernelTest {
+
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int MAX_AGE_DAYS = 3650;
+
+    // The per-item formula takes today from the service clock; the kernel is handed the same day explicitly.
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-06-15T12:00:00Z"), ZoneOffset.UTC);
+
+    // Only the pure overload is exercised, which never consults the preference service.
+    private final ScoringService scoringService = new ScoringService(null, CLOCK);
+
+    @RepeatedTest(200)
+    void score_ShouldMatchPerItemFormula(RepetitionInfo repetitionInfo) {
+        Random random = new Random(repetitionInfo.getCurrentRepetition());
+        LocalDate today = LocalDate.now(CLOCK);
+        LocalDate earliestCreatedDate = today.minusDays(random.nextInt(MAX_AGE_DAYS));
+        UserPreferencesDTO userPreferences = new UserPreferencesDTO(1, random.nextDouble(), random.nextDouble(), random.nextDouble());
+
+        int size = random.nextInt(MAX_PAGE_SIZE) + 1;
+        // Small bounds make ties and zero maxima, where the per-item formula divides by zero, likely.
+        int starsBound = random.nextBoolean() ? 3 : 500_000;
+        int[] stars = random.ints(size, 0, starsBound).toArray();
+        int[] forks = random.ints(size, 0, starsBound / 3 + 1).toArray();
+        long[] updatedEpochDays = random.longs(size, earliestCreatedDate.toEpochDay(), today.toEpochDay() + 1).toArray();
+        int maxStars = Arrays.stream(stars).max().orElse(0);
+        int maxForks = Arrays.stream(forks).max().orElse(0);
+
+        double[] scores = ScoringKernel.score(stars, forks, updatedEpochDays, earliestCreatedDate.toEpochDay(), today.toEpochDay(),
+                userPreferences.starsWeight(), userPreferences.forksWeight(), userPreferences.recencyWeight());
+
+        double[] expected = new double[size];
+        for (int i = 0; i < size; i++) {
+            expected[i] = scoringService.calculatePopularityScore(stars[i], forks[i], LocalDate.ofEpochDay(updatedEpochDays[i]),
+                    maxStars, maxForks, earliestCreatedDate, userPreferences);
+        }
+        assertArrayEquals(expected, scores);
+    }
+
+    @Test
+    void score_ShouldTreatSearchStartingTodayAsFullyRecent() {
+        long today = LocalDate.now(CLOCK).toEpochDay();
+
+        double[] scores = ScoringKernel.score(new int[]{10}, new int[]{5}, new long[]{today}, today, today, 0.4, 0.3, 0.3);
+
+        assertEquals(1.0, scores[0]);
+    }
+
+    @Test
+    void score_ShouldRejectColumnsOfDifferentLength() {
+        assertThrows(IllegalArgumentException.class,
+                () -> ScoringKernel.score(new int[2], new int[1], new long[2], 0, 0, 0.4, 0.3, 0.3));
+    }
+
+    @RepeatedTest(20)
+    void scoreProfiles_ShouldMatchSingleProfileScores(RepetitionInfo repetitionInfo) {
+        Random random = new Random(repetitionInfo.getCurrentRepetition());
+        LocalDate today = LocalDate.now(CLOCK);
+        LocalDate earliestCreatedDate = today.minusDays(random.nextInt(MAX_AGE_DAYS));
+        int size = random.nextInt(MAX_PAGE_SIZE) + 1;
+        int[] stars = random.ints(size, 0, 500_000).toArray();
+        int[] forks = random.ints(size, 0, 100_000).toArray();
+        long[] updatedEpochDays = random.longs(size, earliestCreatedDate.toEpochDay(), today.toEpochDay() + 1).toArray();
+        int profiles = random.nextInt(50) + 1;
+        double[] starsWeights = random.doubles(profiles).toArray();
+        double[] forksWeights = random.doubles(profiles).toArray();
+        double[] recencyWeights = random.doubles(profiles).toArray();
+
+        double[][] scores = ScoringKernel.scoreProfiles(stars, forks, updatedEpochDays, 500_000, 100_000,
+                earliestCreatedDate.toEpochDay(), today.toEpochDay(), starsWeights, forksWeights, recencyWeights);
+
+        assertEquals(profiles, scores.length);
+        for (int profile = 0; profile < profiles; profile++) {
+            assertArrayEquals(ScoringKernel.score(stars, forks, updatedEpochDays, 500_000, 100_000,
+                    earliestCreatedDate.toEpochDay(), today.toEpochDay(),
+                    starsWeights[profile], forksWeights[profile], recencyWeights[profile]), scores[profile]);
+        }
+    }
+
+    @Test
+    void scoreProfiles_ShouldRejectWeightsOfDifferentLength() {
+        assertThrows(IllegalArgumentException.class, () -> ScoringKernel.scoreProfiles(new int[1], new int[1], new long[1],
+                1, 1, 0, 0, new double[2], new double[2], new double[1]));
+    }
+}
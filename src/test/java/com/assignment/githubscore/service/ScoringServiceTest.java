@@ -1,39 +1,61 @@
 package com.assignment.githubscore.service;
 
+import com.assignment.githubscore.dto.RepositoryMetricsDTO;
 import com.assignment.githubscore.dto.ScoreBreakdownDTO;
 import com.assignment.githubscore.dto.UserPreferencesDTO;
-import org.junit.Test;
-import org.junit.runner.RunWith;
-import org.mockito.InjectMocks;
+import com.assignment.githubscore.exception.IllegalArgumentException;
+import com.assignment.githubscore.model.RepoItem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
-import org.mockito.junit.MockitoJUnitRunner;
+import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
-@RunWith(MockitoJUnitRunner.class)
-public class ScoringServiceTest {
+@ExtendWith(MockitoExtension.class)
+class ScoringServiceTest {
+
+    private static final Instant NOW = Instant.parse("2026-06-15T12:00:00Z");
+    private static final LocalDate TODAY = LocalDate.ofInstant(NOW, ZoneOffset.UTC);
 
     @Mock
     private UserPreferenceService userPreferenceService;
 
-    @InjectMocks
     private ScoringService scoringService;
 
+    @BeforeEach
+    void setUp() {
+        scoringService = new ScoringService(userPreferenceService, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
 
     @Test
-    public void testCalculatePopularityScore() {
+    void testCalculatePopularityScore() {
         int maxForks = 50;
         int maxStars = 100;
 
         UserPreferencesDTO userPreferences = new UserPreferencesDTO(1, 0.4, 0.3, 0.3);
-        when(userPreferenceService.getUserPreferences(anyLong())).thenReturn(java.util.Optional.of(userPreferences));
+        when(userPreferenceService.getUserPreferences(anyLong())).thenReturn(Optional.of(userPreferences));
 
-        LocalDate updatedAt = LocalDate.now().minusDays(10);
-        LocalDate earliestCreatedDate = LocalDate.now().minusDays(100);
+        LocalDate updatedAt = TODAY.minusDays(10);
+        LocalDate earliestCreatedDate = TODAY.minusDays(100);
 
         double popularityScore = scoringService.calculatePopularityScore(100, 50, updatedAt, maxStars, maxForks, earliestCreatedDate, 1);
 
@@ -41,15 +63,15 @@ public class ScoringServiceTest {
     }
 
     @Test
-    public void testCalculatePopularityScoreWithBreakdown() {
+    void testCalculatePopularityScoreWithBreakdown() {
         int maxForks = 50;
         int maxStars = 100;
 
         UserPreferencesDTO userPreferences = new UserPreferencesDTO(1, 0.4, 0.3, 0.3);
-        when(userPreferenceService.getUserPreferences(anyLong())).thenReturn(java.util.Optional.of(userPreferences));
+        when(userPreferenceService.getUserPreferences(anyLong())).thenReturn(Optional.of(userPreferences));
 
-        LocalDate updatedAt = LocalDate.now().minusDays(10);
-        LocalDate earliestCreatedDate = LocalDate.now().minusDays(10);
+        LocalDate updatedAt = TODAY.minusDays(10);
+        LocalDate earliestCreatedDate = TODAY.minusDays(10);
 
         ScoreBreakdownDTO scoreBreakdown = scoringService.calculatePopularityScoreWithBreakdown(
                 100, 50, maxStars, maxForks, earliestCreatedDate, updatedAt, 1);
@@ -62,4 +84,81 @@ public class ScoringServiceTest {
         assertEquals(0.0, scoreBreakdown.recencyFactor(), 0.001);
         assertEquals(0.7, scoreBreakdown.finalScore(), 0.001);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testCalculatePopularityScores_ResolvesPreferencesOnce() {
+        UserPreferencesDTO userPreferences = new UserPreferencesDTO(1, 0.4, 0.3, 0.3);
+        when(userPreferenceService.getUserPreferences(anyLong())).thenReturn(Optional.of(userPreferences));
+
+        LocalDateTime updatedAt = LocalDateTime.ofInstant(NOW, ZoneOffset.UTC).minusDays(10);
+        LocalDate earliestCreatedDate = TODAY.minusDays(100);
+        List<RepoItem> items = List.of(
+                createRepoItem(1, 100, 50, updatedAt),
+                createRepoItem(2, 50, 25, updatedAt),
+                createRepoItem(3, 0, 0, updatedAt)
+        );
+
+        double[] scores = scoringService.calculatePopularityScores(items, 100, 50, earliestCreatedDate, 1);
+
+        assertArrayEquals(new double[]{0.97, 0.62, 0.27}, scores, 0.001);
+        verify(userPreferenceService, times(1)).getUserPreferences(1);
+    }
+
+    @Test
+    void testCalculatePopularityScoreBreakdowns_MatchesSingleBreakdownsAndResolvesPreferencesOnce() {
+        UserPreferencesDTO userPreferences = new UserPreferencesDTO(1, 0.4, 0.3, 0.3);
+        when(userPreferenceService.getUserPreferences(anyLong())).thenReturn(Optional.of(userPreferences));
+
+        LocalDate earliestCreatedDate = TODAY.minusDays(100);
+        List<RepositoryMetricsDTO> repositories = List.of(
+                new RepositoryMetricsDTO(100, 50, TODAY.minusDays(10)),
+                new RepositoryMetricsDTO(50, 25, TODAY.minusDays(40)),
+                new RepositoryMetricsDTO(0, 0, TODAY)
+        );
+
+        List<ScoreBreakdownDTO> breakdowns = scoringService.calculatePopularityScoreBreakdowns(
+                repositories, 100, 50, earliestCreatedDate, 1);
+
+        verify(userPreferenceService, times(1)).getUserPreferences(1);
+        assertEquals(repositories.size(), breakdowns.size());
+        for (int i = 0; i < repositories.size(); i++) {
+            RepositoryMetricsDTO repository = repositories.get(i);
+            assertEquals(scoringService.calculatePopularityScoreWithBreakdown(repository.stars(), repository.forks(),
+                    100, 50, earliestCreatedDate, repository.updatedAt(), 1), breakdowns.get(i));
+        }
+    }
+
+    @Test
+    void testCalculatePopularityScoreBreakdowns_RejectsOversizedBatch() {
+        List<RepositoryMetricsDTO> repositories = Collections.nCopies(ScoringService.MAX_BREAKDOWN_BATCH_SIZE + 1,
+                new RepositoryMetricsDTO(1, 1, TODAY));
+
+        assertThrows(IllegalArgumentException.class, () -> scoringService.calculatePopularityScoreBreakdowns(
+                repositories, 100, 50, TODAY.minusDays(100), 1));
+        verifyNoInteractions(userPreferenceService);
+    }
+
+    @Test
+    void testCreateContext_ScoresWholeRequestAgainstTheSameDay() {
+        Clock clock = mock(Clock.class);
+        Instant beforeMidnight = Instant.parse("2026-06-15T23:59:59Z");
+        when(clock.getZone()).thenReturn(ZoneOffset.UTC);
+        when(clock.instant()).thenReturn(beforeMidnight, beforeMidnight.plusSeconds(2));
+        when(userPreferenceService.getUserPreferences(anyLong())).thenReturn(Optional.of(new UserPreferencesDTO(1, 0.4, 0.3, 0.3)));
+        ScoringService midnightScoringService = new ScoringService(userPreferenceService, clock);
+        LocalDate earliestCreatedDate = LocalDate.parse("2026-06-05");
+
+        ScoringContext context = midnightScoringService.createContext(100, 50, earliestCreatedDate, 1);
+
+        assertEquals(LocalDateTime.parse("2026-06-15T23:59:59"), context.now());
+        assertEquals(LocalDate.parse("2026-06-15"), context.today());
+        assertEquals(10, context.totalDuration());
+        assertEquals(0.7, midnightScoringService.calculatePopularityScore(100, 50, earliestCreatedDate, context), 0.001);
+        verify(clock, times(1)).instant();
+    }
+
+    private RepoItem createRepoItem(int id, int stargazersCount, int forksCount, LocalDateTime updatedAt) {
+        return new RepoItem(id, "", "Test Repo", "", false, "", false, "", updatedAt.toString(),
+                stargazersCount, "", forksCount, false, false);
+    }
+}
@@ -0,0 +1,144 @@
+package com.assignment.githubscore.service;
+
+import com.assignment.githubscore.exception.GitHubApiErrorHandler;
+import com.assignment.githubscore.model.SearchQuery;
+import com.assignment.githubscore.model.SearchResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.tck.TestObservationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static io.micrometer.observation.tck.TestObservationRegistryAssert.assertThat;
+import static java.util.Collections.emptyList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SearchResponseCacheTest {
+
+    private static final LocalDate EARLIEST_CREATED_DATE = LocalDate.of(2024, 1, 1);
+
+    @Mock
+    private GitHubAPIClient gitHubAPIClient;
+
+    private final TestObservationRegistry observationRegistry = TestObservationRegistry.create();
+
+    private SearchResponseCache searchResponseCache;
+
+    @BeforeEach
+    void setUp() {
+        searchResponseCache = new SearchResponseCache(gitHubAPIClient, Duration.ofMinutes(5), 100, new SimpleMeterRegistry(), observationRegistry);
+    }
+
+    @Test
+    void getSearchResponse_ShouldServeRepeatedQueriesFromCache() {
+        SearchResponse searchResponse = new SearchResponse(1, false, emptyList());
+        when(gitHubAPIClient.searchRepositoriesReactive("java", EARLIEST_CREATED_DATE)).thenReturn(Mono.just(searchResponse));
+
+        assertEquals(searchResponse, searchResponseCache.getSearchResponse("java", EARLIEST_CREATED_DATE));
+        assertEquals(searchResponse, searchResponseCache.getSearchResponse(" Java ", EARLIEST_CREATED_DATE));
+        assertEquals(searchResponse, searchResponseCache.getSearchResponseReactive("JAVA", EARLIEST_CREATED_DATE).block());
+
+        verify(gitHubAPIClient, times(1)).searchRepositoriesReactive("java", EARLIEST_CREATED_DATE);
+    }
+
+    @Test
+    void getSearchResponse_ShouldObserveLookupsAsParentOfGitHubSearch() {
+        AtomicReference<Observation> searchParent = new AtomicReference<>();
+        when(gitHubAPIClient.searchRepositoriesReactive("java", EARLIEST_CREATED_DATE)).thenAnswer(invocation -> {
+            searchParent.set(observationRegistry.getCurrentObservation());
+            return Mono.just(new SearchResponse(1, false, emptyList()));
+        });
+
+        searchResponseCache.getSearchResponse("Java", EARLIEST_CREATED_DATE);
+        searchResponseCache.getSearchResponseReactive("java", EARLIEST_CREATED_DATE).block();
+
+        assertEquals("miss", searchParent.get().getContextView().getLowCardinalityKeyValue("cache.result").getValue());
+        assertThat(observationRegistry)
+                .hasNumberOfObservationsWithNameEqualTo("github.search.cache", 2)
+                .hasAnObservation(observation -> observation.hasNameEqualTo("github.search.cache")
+                        .hasLowCardinalityKeyValue("cache.result", "miss")
+                        .hasHighCardinalityKeyValue("github.language", "java"))
+                .hasAnObservation(observation -> observation.hasNameEqualTo("github.search.cache")
+                        .hasLowCardinalityKeyValue("cache.result", "hit"));
+    }
+
+    @Test
+    void getSearchResponse_ShouldCoalesceConcurrentMisses() throws Exception {
+        SearchResponse searchResponse = new SearchResponse(1, false, emptyList());
+        when(gitHubAPIClient.searchRepositoriesReactive("java", EARLIEST_CREATED_DATE))
+                .thenReturn(Mono.just(searchResponse).delayElement(Duration.ofMillis(200)));
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            List<CompletableFuture<SearchResponse>> futures = IntStream.range(0, 8)
+                    .mapToObj(i -> CompletableFuture.supplyAsync(
+                            () -> searchResponseCache.getSearchResponse("java", EARLIEST_CREATED_DATE), executor))
+                    .toList();
+            for (CompletableFuture<SearchResponse> future : futures) {
+                assertEquals(searchResponse, future.get());
+            }
+        }
+
+        verify(gitHubAPIClient, times(1)).searchRepositoriesReactive(any(), any());
+    }
+
+    @Test
+    void getSearchResponse_ShouldNotCacheFailures() {
+        SearchResponse searchResponse = new SearchResponse(1, false, emptyList());
+        when(gitHubAPIClient.searchRepositoriesReactive("java", EARLIEST_CREATED_DATE))
+                .thenReturn(Mono.error(new GitHubApiErrorHandler("API error")))
+                .thenReturn(Mono.just(searchResponse));
+
+        assertThrows(GitHubApiErrorHandler.class,
+                () -> searchResponseCache.getSearchResponse("java", EARLIEST_CREATED_DATE));
+        assertEquals(searchResponse, searchResponseCache.getSearchResponse("java", EARLIEST_CREATED_DATE));
+    }
+
+    @Test
+    void expiresWithin_ShouldReportMissingAndAgingEntries() {
+        SearchQuery query = SearchQuery.of("java", EARLIEST_CREATED_DATE);
+        when(gitHubAPIClient.searchRepositoriesReactive("java", EARLIEST_CREATED_DATE))
+                .thenReturn(Mono.just(new SearchResponse(1, false, emptyList())));
+
+        assertTrue(searchResponseCache.expiresWithin(query, Duration.ofMinutes(1)));
+        searchResponseCache.getSearchResponse("java", EARLIEST_CREATED_DATE);
+
+        assertFalse(searchResponseCache.expiresWithin(query, Duration.ofMinutes(1)));
+        assertTrue(searchResponseCache.expiresWithin(query, Duration.ofMinutes(5)));
+    }
+
+    @Test
+    void refresh_ShouldReplaceCachedResponse() {
+        SearchResponse stale = new SearchResponse(1, false, emptyList());
+        SearchResponse fresh = new SearchResponse(2, false, emptyList());
+        when(gitHubAPIClient.searchRepositoriesReactive("java", EARLIEST_CREATED_DATE))
+                .thenReturn(Mono.just(stale))
+                .thenReturn(Mono.just(fresh));
+        searchResponseCache.getSearchResponse("java", EARLIEST_CREATED_DATE);
+
+        assertEquals(fresh, searchResponseCache.refresh(SearchQuery.of("java", EARLIEST_CREATED_DATE)).block());
+
+        assertEquals(fresh, searchResponseCache.getSearchResponse("java", EARLIEST_CREATED_DATE));
+        verify(gitHubAPIClient, times(2)).searchRepositoriesReactive("java", EARLIEST_CREATED_DATE);
+    }
+}
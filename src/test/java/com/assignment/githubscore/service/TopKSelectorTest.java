@@ -0,0 +1,50 @@
+package com.assignment.githubscore.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TopKSelectorTest {
+
+    @Test
+    void select_ShouldMatchPageOfFullSort() {
+        Random random = new Random(42);
+        List<Integer> elements = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            elements.add(random.nextInt(200));
+        }
+        List<Integer> sorted = new ArrayList<>(elements);
+        sorted.sort(Comparator.reverseOrder());
+
+        for (int offset : new int[]{0, 1, 30, 990, 999}) {
+            for (int limit : new int[]{1, 10, 30}) {
+                List<Integer> expected = sorted.subList(offset, Math.min(offset + limit, sorted.size()));
+                assertEquals(expected, TopKSelector.select(elements, Comparator.reverseOrder(), offset, limit));
+            }
+        }
+    }
+
+    @Test
+    void select_ShouldReturnEmptyPageBeyondElements() {
+        List<Integer> elements = List.of(3, 1, 2);
+
+        assertTrue(TopKSelector.select(elements, Comparator.naturalOrder(), 3, 10).isEmpty());
+        assertTrue(TopKSelector.select(elements, Comparator.naturalOrder(), 0, 0).isEmpty());
+        assertEquals(List.of(2, 3), TopKSelector.select(elements, Comparator.naturalOrder(), 1, Integer.MAX_VALUE));
+    }
+
+    @Test
+    void select_ShouldRejectNegativeOffsetOrLimit() {
+        List<Integer> elements = List.of(1, 2);
+
+        assertThrows(IllegalArgumentException.class, () -> TopKSelector.select(elements, Comparator.naturalOrder(), -1, 1));
+        assertThrows(IllegalArgumentException.class, () -> TopKSelector.select(elements, Comparator.naturalOrder(), 0, -1));
+    }
+}
@@ -0,0 +1,132 @@
+package com.assignment.githubscore.service;
+
+import com.assignment.githubscore.dto.UserPreferencesDTO;
+import com.assignment.githubscore.entity.UserPreferences;
+import com.assignment.githubscore.mapper.UserPreferencesMapper;
+import com.assignment.githubscore.repository.UserPreferencesRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.util.Optional;
+
+import static com.assignment.githubscore.service.UserPreferenceService.USER_PREFERENCES_CACHE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringJUnitConfig
+class UserPreferenceServiceCacheTest {
+
+    @Configuration
+    @EnableCaching
+    @Import(UserPreferenceService.class)
+    static class CacheTestConfig {
+
+        @Bean
+        CacheManager cacheManager() {
+            return new CaffeineCacheManager(USER_PREFERENCES_CACHE);
+        }
+    }
+
+    @MockBean
+    private UserPreferencesRepository userPreferencesRepository;
+
+    @MockBean
+    private UserPreferencesMapper userPreferencesMapper;
+
+    @Autowired
+    private UserPreferenceService userPreferenceService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void clearCache() {
+        cacheManager.getCache(USER_PREFERENCES_CACHE).clear();
+    }
+
+    @Test
+    void getUserPreferences_ShouldHitDatabaseOnlyOnce() {
+        UserPreferencesDTO userPreferencesDTO = new UserPreferencesDTO(1L, 0.4, 0.3, 0.3);
+        UserPreferences userPreferences = new UserPreferences();
+        when(userPreferencesRepository.findByUserId(1L)).thenReturn(Optional.of(userPreferences));
+        when(userPreferencesMapper.toDto(userPreferences)).thenReturn(userPreferencesDTO);
+
+        assertEquals(Optional.of(userPreferencesDTO), userPreferenceService.getUserPreferences(1L));
+        assertEquals(Optional.of(userPreferencesDTO), userPreferenceService.getUserPreferences(1L));
+
+        verify(userPreferencesRepository, times(1)).findByUserId(1L);
+    }
+
+    @Test
+    void getUserPreferences_ShouldCacheMissingPreferences() {
+        when(userPreferencesRepository.findByUserId(1L)).thenReturn(Optional.empty());
+
+        assertTrue(userPreferenceService.getUserPreferences(1L).isEmpty());
+        assertTrue(userPreferenceService.getUserPreferences(1L).isEmpty());
+
+        verify(userPreferencesRepository, times(1)).findByUserId(1L);
+    }
+
+    @Test
+    void saveUserPreferences_ShouldEvictCachedMissingPreferences() {
+        UserPreferencesDTO userPreferencesDTO = new UserPreferencesDTO(1L, 0.4, 0.3, 0.3);
+        UserPreferences userPreferences = new UserPreferences();
+        when(userPreferencesRepository.findByUserId(1L)).thenReturn(Optional.empty());
+        assertTrue(userPreferenceService.getUserPreferences(1L).isEmpty());
+
+        when(userPreferencesMapper.toEntity(userPreferencesDTO)).thenReturn(userPreferences);
+        when(userPreferencesRepository.save(userPreferences)).thenReturn(userPreferences);
+        when(userPreferencesMapper.toDto(userPreferences)).thenReturn(userPreferencesDTO);
+        userPreferenceService.saveUserPreferences(userPreferencesDTO);
+
+        when(userPreferencesRepository.findByUserId(1L)).thenReturn(Optional.of(userPreferences));
+        assertEquals(Optional.of(userPreferencesDTO), userPreferenceService.getUserPreferences(1L));
+    }
+
+    @Test
+    void updateUserPreferences_ShouldEvictCachedPreferences() {
+        UserPreferencesDTO oldPreferencesDTO = new UserPreferencesDTO(1L, 0.4, 0.3, 0.3);
+        UserPreferencesDTO newPreferencesDTO = new UserPreferencesDTO(1L, 0.6, 0.2, 0.2);
+        UserPreferences existingPreferences = new UserPreferences();
+        UserPreferences updatedPreferences = new UserPreferences();
+        when(userPreferencesRepository.findByUserId(1L)).thenReturn(Optional.of(existingPreferences));
+        when(userPreferencesMapper.toDto(existingPreferences)).thenReturn(oldPreferencesDTO);
+        assertEquals(Optional.of(oldPreferencesDTO), userPreferenceService.getUserPreferences(1L));
+
+        when(userPreferencesMapper.toEntity(newPreferencesDTO)).thenReturn(updatedPreferences);
+        when(userPreferencesRepository.save(updatedPreferences)).thenReturn(updatedPreferences);
+        when(userPreferencesMapper.toDto(updatedPreferences)).thenReturn(newPreferencesDTO);
+        userPreferenceService.updateUserPreferences(newPreferencesDTO);
+
+        when(userPreferencesRepository.findByUserId(1L)).thenReturn(Optional.of(updatedPreferences));
+        assertEquals(Optional.of(newPreferencesDTO), userPreferenceService.getUserPreferences(1L));
+    }
+
+    @Test
+    void deleteUserPreferences_ShouldEvictCachedPreferences() {
+        UserPreferencesDTO userPreferencesDTO = new UserPreferencesDTO(1L, 0.4, 0.3, 0.3);
+        UserPreferences userPreferences = new UserPreferences();
+        userPreferences.setId(5L);
+        when(userPreferencesRepository.findByUserId(1L)).thenReturn(Optional.of(userPreferences));
+        when(userPreferencesMapper.toDto(any(UserPreferences.class))).thenReturn(userPreferencesDTO);
+        assertEquals(Optional.of(userPreferencesDTO), userPreferenceService.getUserPreferences(1L));
+
+        userPreferenceService.deleteUserPreferences(1L);
+
+        when(userPreferencesRepository.findByUserId(1L)).thenReturn(Optional.empty());
+        assertTrue(userPreferenceService.getUserPreferences(1L).isEmpty());
+    }
+}